@@ -2,12 +2,20 @@ package com.juwonjulog.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class JuwonjulogApplication {
 
+    /**
+     * 기동 단계를 남길 최대 개수. 빈 수백 개와 lazy 초기화로 첫 요청 때 만들어지는 빈까지 담을 만큼 잡는다.
+     */
+    private static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(JuwonjulogApplication.class, args);
+        SpringApplication application = new SpringApplication(JuwonjulogApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,112 @@
+package com.juwonjulog.api.bulkhead;
+
+import com.juwonjulog.api.exception.BulkheadFull;
+import com.juwonjulog.api.exception.BulkheadTimeout;
+import com.juwonjulog.api.response.BulkheadResponse;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 고정 크기 스레드 풀과 제한된 큐로 한 종류의 작업만 실행한다.
+ *
+ * <p>큐가 차면 바로 BulkheadFull 로, timeout 이 지나면 BulkheadTimeout 으로 future 를 끝낸다.
+ * 큐에서 기다리다 시간이 지난 작업은 실행하지 않는다.
+ * 이미 실행 중인 작업은 끊지 않는데, timeoutRunning 이면 결과를 버리고 바로 끝내고, 아니면 작업이 끝날 때까지 기다린다.
+ * 쓰기는 응답과 상관없이 커밋되므로, 실행 중인 쓰기에 503 을 주면 클라이언트가 다시 보내서 같은 글이 두 번 써진다.</p>
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final boolean timeoutRunning;
+    private final ThreadPoolExecutor executor;
+    private final Executor timer;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration timeout) {
+        this(name, threads, queueCapacity, timeout, true);
+    }
+
+    public Bulkhead(String name, int threads, int queueCapacity, Duration timeout, boolean timeoutRunning) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.timeoutRunning = timeoutRunning;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bulkhead-" + name + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timer = CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        // 작업 스레드와 timer 중 먼저 가져간 쪽이 작업을 실행할지 정한다.
+        AtomicBoolean claimed = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    future.complete(task.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(new BulkheadFull());
+            return future;
+        }
+
+        timer.execute(() -> {
+            boolean queued = claimed.compareAndSet(false, true);
+            if ((queued || timeoutRunning) && future.completeExceptionally(new BulkheadTimeout())) {
+                timedOut.increment();
+            }
+        });
+        return future;
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return supply(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BulkheadResponse getStats() {
+        return BulkheadResponse.builder()
+                .name(name)
+                .threads(executor.getMaximumPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queued(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completed(executor.getCompletedTaskCount())
+                .rejected(rejected.sum())
+                .timedOut(timedOut.sum())
+                .timeoutMillis(timeout.toMillis())
+                .build();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
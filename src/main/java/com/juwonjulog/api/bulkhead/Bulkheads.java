@@ -0,0 +1,65 @@
+package com.juwonjulog.api.bulkhead;
+
+import com.juwonjulog.api.config.BulkheadProperties;
+import com.juwonjulog.api.response.BulkheadResponse;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 목록 조회, 단건 조회, 쓰기를 서로 다른 bulkhead 에서 실행한다.
+ * size=2000 같은 무거운 목록 조회가 몰려도 list 스레드와 큐만 차고, 단건 조회는 자기 스레드에서 그대로 처리된다.
+ * 본문 스트리밍은 요청 스레드에서 응답을 쓰는 동안 커넥션을 잡고 있으므로, 스레드 대신 content permit 으로 동시 개수를 막는다.
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead list;
+    private final Bulkhead detail;
+    private final Bulkhead write;
+    private final StreamLimiter content;
+
+    public Bulkheads(BulkheadProperties properties) {
+        this.list = create("list", properties.getList());
+        this.detail = create("detail", properties.getDetail());
+        this.write = create("write", properties.getWrite());
+        this.content = new StreamLimiter("content", properties.getContent().getPermits(),
+                properties.getContent().getTimeout());
+    }
+
+    public Bulkhead list() {
+        return list;
+    }
+
+    public Bulkhead detail() {
+        return detail;
+    }
+
+    public Bulkhead write() {
+        return write;
+    }
+
+    public StreamLimiter content() {
+        return content;
+    }
+
+    public List<BulkheadResponse> getStats() {
+        return Stream.concat(Stream.of(list, detail, write).map(Bulkhead::getStats), Stream.of(content.getStats()))
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        list.shutdown();
+        detail.shutdown();
+        write.shutdown();
+    }
+
+    private static Bulkhead create(String name, BulkheadProperties.Pool pool) {
+        return new Bulkhead(name, pool.getThreads(), pool.getQueueCapacity(), pool.getTimeout(),
+                pool.isTimeoutRunning());
+    }
+}
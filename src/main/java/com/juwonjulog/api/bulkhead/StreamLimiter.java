@@ -0,0 +1,77 @@
+package com.juwonjulog.api.bulkhead;
+
+import com.juwonjulog.api.exception.BulkheadFull;
+import com.juwonjulog.api.response.BulkheadResponse;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답을 다 쓸 때까지 DB 커넥션을 잡고 있는 스트리밍 요청의 동시 개수를 제한한다.
+ *
+ * <p>스트리밍은 요청 스레드에서 응답을 쓰므로 스레드 풀 대신 permit 만 센다. permit 수를 커넥션 풀보다 작게 잡아서,
+ * 느린 클라이언트가 본문을 천천히 받아도 다른 조회가 쓸 커넥션이 남도록 한다.
+ * permit 이 없으면 timeout 동안 기다리고, 그래도 없으면 BulkheadFull 로 거절한다.</p>
+ */
+public class StreamLimiter {
+
+    private final String name;
+    private final int permits;
+    private final Duration timeout;
+    private final Semaphore semaphore;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public StreamLimiter(String name, int permits, Duration timeout) {
+        this.name = name;
+        this.permits = permits;
+        this.timeout = timeout;
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    /**
+     * permit 을 하나 얻는다. 돌려받은 Runnable 로 반납하며, 여러 번 불러도 한 번만 반납된다.
+     */
+    public Runnable acquire() {
+        try {
+            if (!semaphore.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new BulkheadFull();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new BulkheadFull();
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                completed.increment();
+                semaphore.release();
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BulkheadResponse getStats() {
+        return BulkheadResponse.builder()
+                .name(name)
+                .threads(permits)
+                .activeThreads(permits - semaphore.availablePermits())
+                .queued(semaphore.getQueueLength())
+                .queueCapacity(0)
+                .completed(completed.sum())
+                .rejected(rejected.sum())
+                .timedOut(0L)
+                .timeoutMillis(timeout.toMillis())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.attachments")
+public class AttachmentProperties {
+
+    /**
+     * 첨부파일 저장 위치. 파일은 내용의 SHA-256 으로 이름 붙여 저장하므로 같은 파일은 한 번만 저장된다.
+     */
+    private Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "juwonjulog", "attachments");
+}
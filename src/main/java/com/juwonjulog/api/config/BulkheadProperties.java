@@ -0,0 +1,77 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 작업 종류별 bulkhead 설정. 스레드 수의 합이 DB 커넥션 풀(기본 10)을 크게 넘지 않게 잡아서,
+ * 목록 조회가 몰려도 단건 조회가 쓸 커넥션이 남도록 한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.bulkhead")
+public class BulkheadProperties {
+
+    private Pool list = new Pool(3, 50, Duration.ofSeconds(3));
+
+    private Pool detail = new Pool(8, 200, Duration.ofSeconds(1));
+
+    private Pool write = new Pool(2, 100, Duration.ofSeconds(5), false);
+
+    private Streams content = new Streams();
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private int threads;
+
+        /**
+         * 스레드가 모두 바쁠 때 기다릴 수 있는 요청 수. 넘치면 바로 503 으로 거절한다.
+         */
+        private int queueCapacity;
+
+        /**
+         * 큐에서 기다린 시간을 포함한 최대 처리 시간. 넘으면 503 으로 응답하고, 아직 시작하지 않은 작업은 실행하지 않는다.
+         */
+        private Duration timeout;
+
+        /**
+         * timeout 이 지났을 때 이미 실행 중인 작업도 503 으로 끝낼지. 끄면 큐에서 기다리던 작업만 끝내고
+         * 실행 중인 작업은 끝날 때까지 기다린다. 응답과 상관없이 커밋되는 쓰기는 꺼둔다.
+         */
+        private boolean timeoutRunning = true;
+
+        public Pool() {
+        }
+
+        public Pool(int threads, int queueCapacity, Duration timeout) {
+            this(threads, queueCapacity, timeout, true);
+        }
+
+        public Pool(int threads, int queueCapacity, Duration timeout, boolean timeoutRunning) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+            this.timeoutRunning = timeoutRunning;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Streams {
+
+        /**
+         * 동시에 본문을 내려보낼 수 있는 요청 수. 응답을 다 쓸 때까지 커넥션을 하나씩 잡으므로 커넥션 풀보다 작게 잡는다.
+         */
+        private int permits = 4;
+
+        /**
+         * permit 을 기다리는 최대 시간. 넘으면 503 으로 거절한다.
+         */
+        private Duration timeout = Duration.ofSeconds(1);
+    }
+}
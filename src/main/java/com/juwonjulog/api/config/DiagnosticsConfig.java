@@ -0,0 +1,38 @@
+package com.juwonjulog.api.config;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+@Configuration
+@EnableConfigurationProperties({JfrProperties.class, DiagnosticsProperties.class})
+public class DiagnosticsConfig {
+
+    /**
+     * juwonjulog.diagnostics.port 가 있으면 그 포트로 Tomcat connector 를 하나 더 연다.
+     * /diagnostics/** 는 DiagnosticsAccessFilter 가 이 포트로 들어온 요청만 통과시킨다.
+     */
+    @Bean
+    @ConditionalOnProperty("juwonjulog.diagnostics.port")
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> diagnosticsConnector(DiagnosticsProperties properties) {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(properties.getPort());
+            try {
+                ((AbstractProtocol<?>) connector.getProtocolHandler())
+                        .setAddress(InetAddress.getByName(properties.getAddress()));
+            } catch (UnknownHostException e) {
+                throw new IllegalStateException("invalid juwonjulog.diagnostics.address: " + properties.getAddress(), e);
+            }
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+}
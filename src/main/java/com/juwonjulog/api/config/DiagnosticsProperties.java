@@ -0,0 +1,22 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.diagnostics")
+public class DiagnosticsProperties {
+
+    /**
+     * /diagnostics/** 를 받는 관리용 포트. 비어 있으면 어느 포트에서도 열지 않는다.
+     * JFR dump 같은 내부 정보가 나가므로 서비스 포트와 나눠서 외부에 노출하지 않는다.
+     */
+    private Integer port;
+
+    /**
+     * 관리용 포트를 열 주소. 기본은 같은 호스트에서만 접근할 수 있는 loopback 이다.
+     */
+    private String address = "127.0.0.1";
+}
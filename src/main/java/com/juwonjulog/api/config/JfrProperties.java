@@ -0,0 +1,38 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.jfr")
+public class JfrProperties {
+
+    /**
+     * JFR ring buffer 기록 여부. 시스템 프로퍼티와 환경 변수 이벤트는 빼고 기록하므로 기본으로 켜둔다.
+     */
+    private boolean enabled = true;
+
+    /**
+     * 이보다 오래 걸린 요청이 있으면 ring buffer 를 파일로 남긴다.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    private Duration maxAge = Duration.ofMinutes(5);
+
+    private long maxSizeBytes = 32L * 1024 * 1024;
+
+    /**
+     * 느린 요청이 몰려도 이 간격 안에는 한 번만 파일로 남긴다.
+     */
+    private Duration minCaptureInterval = Duration.ofSeconds(30);
+
+    private int maxCaptures = 10;
+
+    private Path captureDir = Paths.get(System.getProperty("java.io.tmpdir"), "juwonjulog", "jfr");
+}
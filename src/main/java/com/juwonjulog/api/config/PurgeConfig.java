@@ -0,0 +1,9 @@
+package com.juwonjulog.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PurgeProperties.class)
+public class PurgeConfig {
+}
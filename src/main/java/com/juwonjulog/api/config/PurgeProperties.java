@@ -0,0 +1,36 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 삭제된 글 정리 설정. 언제 돌지는 juwonjulog.purge.cron 으로 정하고, 기본값은 새벽 2~5시 사이 10분마다다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.purge")
+public class PurgeProperties {
+
+    /**
+     * 삭제된 뒤 이 시간이 지난 글만 지운다.
+     */
+    private Duration gracePeriod = Duration.ofHours(1);
+
+    /**
+     * 한 트랜잭션에서 지울 글 수. 한 번에 잡는 lock 과 undo 를 이 크기로 묶어둔다.
+     */
+    private int batchSize = 500;
+
+    /**
+     * 한 번 돌 때 처리할 최대 batch 수. 남은 글은 다음 주기에 지운다.
+     */
+    private int maxBatches = 20;
+
+    /**
+     * batch 사이에 쉬는 시간.
+     */
+    private Duration pause = Duration.ofMillis(100);
+}
@@ -0,0 +1,41 @@
+package com.juwonjulog.api.config;
+
+import com.juwonjulog.api.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * juwonjulog.sharding.enabled=true 이면 juwonjulog.sharding.urls 의 DB 마다 커넥션 풀을 만들고,
+ * 그 위에 ShardRoutingDataSource 를 DataSource 로 둔다. 그러면 spring.datasource 자동 설정은 물러나고
+ * JPA, JdbcTemplate 모두 이 DataSource 에서 지금 스레드의 shard 커넥션을 꺼낸다.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "juwonjulog.sharding", name = "enabled", havingValue = "true")
+    public ShardRoutingDataSource dataSource(ShardingProperties properties) {
+        List<DataSource> shards = new ArrayList<>(properties.getUrls().size());
+        for (int shard = 0; shard < properties.getUrls().size(); shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(properties.getUrls().get(shard))
+                    .username(properties.getUsername())
+                    .password(properties.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setMaximumPoolSize(properties.getMaxPoolSize());
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+}
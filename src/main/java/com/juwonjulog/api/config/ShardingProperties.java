@@ -0,0 +1,47 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게시글을 여러 DB 에 나눠 넣는 설정. 꺼져 있으면 spring.datasource 하나만 쓴다.
+ *
+ * <pre>
+ * juwonjulog:
+ *   sharding:
+ *     enabled: true
+ *     urls:
+ *       - jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE
+ *       - jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    /**
+     * shard 마다 하나씩. 순서가 곧 shard 번호이므로, 데이터가 있는 채로 순서나 개수를 바꾸면 안 된다.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * shard 하나의 커넥션 풀 크기.
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * 목록 조회를 모든 shard 에 나눠 보낼 때 쓰는 스레드 수.
+     */
+    private int scatterThreads = 8;
+}
@@ -0,0 +1,21 @@
+package com.juwonjulog.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "juwonjulog.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * 켜면 기동할 때 스냅샷에서 게시글을 복원하고, juwonjulog.snapshot.interval-ms 마다와 종료할 때 스냅샷을 남긴다.
+     */
+    private boolean enabled = false;
+
+    private Path path = Paths.get(System.getProperty("java.io.tmpdir"), "juwonjulog", "snapshot", "posts.snap");
+}
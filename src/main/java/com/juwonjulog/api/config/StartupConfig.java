@@ -0,0 +1,31 @@
+package com.juwonjulog.api.config;
+
+import com.juwonjulog.api.bulkhead.Bulkheads;
+import com.juwonjulog.api.controller.PostController;
+import com.juwonjulog.api.service.FrontPageCache;
+import com.juwonjulog.api.service.PostService;
+import com.juwonjulog.api.snapshot.PostSnapshotService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * fast-startup 프로파일은 빈을 모두 lazy 로 만들고, 첫 요청이 바로 지나가는 경로의 빈만 기동 때 만든다.
+ * PostSnapshotService 는 SmartInitializingSingleton 으로 스냅샷을 복원하므로 lazy 면 복원이 빠진다.
+ * @Scheduled 빈은 스프링 부트가 알아서 lazy 에서 뺀다.
+ */
+@Configuration
+@Profile("fast-startup")
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter criticalBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                PostController.class,
+                PostService.class,
+                FrontPageCache.class,
+                Bulkheads.class,
+                PostSnapshotService.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.juwonjulog.api.config;
+
+import com.juwonjulog.api.json.JsonBufferPool;
+import com.juwonjulog.api.json.ResponseJsonHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * 버퍼 하나의 크기. 목록 한 페이지는 대부분 한두 번의 write 로 나간다.
+     */
+    private static final int JSON_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * 남겨둘 버퍼 수. 동시에 응답을 쓰는 스레드(Tomcat 기본 200)보다 적어도 되고, 모자라면 새로 만든다.
+     */
+    private static final int JSON_BUFFER_POOL_SIZE = 64;
+
+    private final JsonBufferPool jsonBufferPool = new JsonBufferPool(JSON_BUFFER_SIZE, JSON_BUFFER_POOL_SIZE);
+
+    /**
+     * 자주 나가는 응답은 Jackson 보다 먼저 ResponseJsonHttpMessageConverter 가 쓴다.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ResponseJsonHttpMessageConverter(jsonBufferPool));
+    }
+}
@@ -0,0 +1,140 @@
+package com.juwonjulog.api.controller;
+
+import com.juwonjulog.api.domain.Attachment;
+import com.juwonjulog.api.response.AttachmentResponse;
+import com.juwonjulog.api.service.AttachmentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachmentService attachmentService;
+
+    @PostMapping("/posts/{postId}/attachments")
+    public AttachmentResponse upload(@PathVariable Long postId, @RequestParam("file") MultipartFile file) {
+        return attachmentService.upload(postId, file);
+    }
+
+    @GetMapping("/posts/{postId}/attachments")
+    public List<AttachmentResponse> getList(@PathVariable Long postId) {
+        return attachmentService.getList(postId);
+    }
+
+    /**
+     * 파일 내용이 곧 이름(SHA-256)이므로 그대로 strong ETag 로 쓴다. Range 는 한 구간만 206 으로 답하고,
+     * 여러 구간을 요청하면 전체를 200 으로 보낸다.
+     *
+     * <p>Tomcat 이 sendfile 을 지원하면 파일 경로와 구간만 넘겨 커널이 소켓으로 바로 보내게 하고,
+     * 아니면 FileChannel.transferTo 로 응답 스트림에 흘려보낸다. 어느 쪽도 파일을 힙에 올리지 않는다.</p>
+     */
+    @GetMapping("/posts/{postId}/attachments/{attachmentId}")
+    public void download(@PathVariable Long postId, @PathVariable Long attachmentId,
+                         ServletWebRequest webRequest, HttpServletResponse response) throws IOException {
+        Attachment attachment = attachmentService.get(postId, attachmentId);
+        String etag = "\"" + attachment.getSha256() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return;
+        }
+
+        HttpServletRequest request = webRequest.getRequest();
+        long length = attachment.getSize();
+        long start = 0L;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType(attachment));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFilename() != null ? attachment.getFilename() : attachment.getSha256(),
+                        StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length) {
+                        // HttpRange 는 시작 위치가 파일 길이를 넘는지 보지 않는다.
+                        throw new IllegalArgumentException("Range start " + start + " is not less than " + length);
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (count == 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        Path path = attachmentService.getPath(attachment);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long transferred = channel.transferTo(position, count, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                count -= transferred;
+            }
+        }
+    }
+
+    private static String contentType(Attachment attachment) {
+        if (attachment.getContentType() != null) {
+            try {
+                return MediaType.parseMediaType(attachment.getContentType()).toString();
+            } catch (InvalidMediaTypeException e) {
+                log.debug("invalid content type {} of attachment {}", attachment.getContentType(), attachment.getId());
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
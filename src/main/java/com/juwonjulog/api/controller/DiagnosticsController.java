@@ -0,0 +1,89 @@
+package com.juwonjulog.api.controller;
+
+import com.juwonjulog.api.bulkhead.Bulkheads;
+import com.juwonjulog.api.diagnostics.SlowRequestRecorder;
+import com.juwonjulog.api.diagnostics.StartupRecorder;
+import com.juwonjulog.api.exception.CaptureNotFound;
+import com.juwonjulog.api.response.BulkheadResponse;
+import com.juwonjulog.api.response.FrontPageStatsResponse;
+import com.juwonjulog.api.response.SlowRequestCaptureResponse;
+import com.juwonjulog.api.response.StartupResponse;
+import com.juwonjulog.api.service.FrontPageCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+    private final Bulkheads bulkheads;
+    private final FrontPageCache frontPageCache;
+    private final StartupRecorder startupRecorder;
+
+    @GetMapping("/diagnostics/bulkheads")
+    public List<BulkheadResponse> getBulkheads() {
+        return bulkheads.getStats();
+    }
+
+    @GetMapping("/diagnostics/front-page")
+    public FrontPageStatsResponse getFrontPage() {
+        return frontPageCache.getStats();
+    }
+
+    /**
+     * 기동 단계는 시간순으로, 빈 생성은 오래 걸린 순으로 size 개까지 내려준다.
+     */
+    @GetMapping("/diagnostics/startup")
+    public StartupResponse getStartup(@RequestParam(defaultValue = "20") int size) {
+        return startupRecorder.getStats(size);
+    }
+
+    @GetMapping("/diagnostics/slow-requests")
+    public List<SlowRequestCaptureResponse> getSlowRequests() {
+        return slowRequestRecorder.getCaptures().stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/diagnostics/slow-requests/{name}")
+    public ResponseEntity<Resource> getSlowRequest(@PathVariable String name) {
+        Path capture = slowRequestRecorder.getCapture(name)
+                .orElseThrow(CaptureNotFound::new);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name)
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(capture));
+    }
+
+    private SlowRequestCaptureResponse toResponse(Path capture) {
+        try {
+            return new SlowRequestCaptureResponse(capture.getFileName().toString(), Files.size(capture),
+                    Files.getLastModifiedTime(capture).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.juwonjulog.api.controller;
+
+import com.juwonjulog.api.service.FeedCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class FeedController {
+
+    private static final MediaType APPLICATION_ATOM_XML = new MediaType("application", "atom+xml", StandardCharsets.UTF_8);
+
+    private final FeedCache feedCache;
+
+    /**
+     * 미리 만들어둔 피드를 그대로 내려준다. 피드 리더는 대부분 If-None-Match / If-Modified-Since 로 다시 묻기 때문에
+     * 바뀌지 않았으면 본문 없이 304 로 끝난다.
+     */
+    @GetMapping("/feed.xml")
+    public ResponseEntity<byte[]> getFeed(WebRequest webRequest) {
+        FeedCache.Feed feed = feedCache.getFeed();
+        if (webRequest.checkNotModified(feed.getEtag(), feed.getLastModified().toEpochMilli())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ATOM_XML)
+                .cacheControl(CacheControl.noCache())
+                .body(feed.getBody());
+    }
+}
@@ -1,47 +1,121 @@
 package com.juwonjulog.api.controller;
 
+import com.juwonjulog.api.bulkhead.Bulkheads;
+import com.juwonjulog.api.repository.PostContentResource;
 import com.juwonjulog.api.request.PostCreate;
 import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.request.PostMultiGet;
 import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.response.PopularPostResponse;
+import com.juwonjulog.api.response.PostMultiGetResponse;
 import com.juwonjulog.api.response.PostResponse;
+import com.juwonjulog.api.response.RelatedPostResponse;
+import com.juwonjulog.api.response.TitleSuggestResponse;
 import com.juwonjulog.api.service.PostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final MediaType TEXT_MARKDOWN = new MediaType("text", "markdown", StandardCharsets.UTF_8);
+
     private final PostService postService;
+    private final Bulkheads bulkheads;
 
     @PostMapping("/posts")
-    public void post(@RequestBody @Valid PostCreate request) {
+    public CompletableFuture<Void> post(@RequestBody @Valid PostCreate request) {
         request.validate();
-        postService.write(request);
+        return bulkheads.write().run(() -> postService.write(request));
     }
 
     @GetMapping("/posts/{postId}")
-    public PostResponse get(@PathVariable Long postId) {
-        return postService.get(postId);
+    public CompletableFuture<PostResponse> get(@PathVariable Long postId) {
+        return bulkheads.detail().supply(() -> postService.get(postId));
+    }
+
+    /**
+     * 게시글 본문만 원문 그대로 내려준다. Range 헤더가 있으면 Spring MVC 가 206 Partial Content 로 잘라서 응답한다.
+     * 본문을 읽는 트랜잭션은 응답을 다 쓴 뒤 요청이 끝날 때 닫는다.
+     * 그동안 커넥션을 잡고 있으므로 content permit 을 얻은 요청만 읽고, permit 도 요청이 끝날 때 반납한다.
+     */
+    @GetMapping("/posts/{postId}/content")
+    public ResponseEntity<Resource> getContent(@PathVariable Long postId) {
+        Runnable release = bulkheads.content().acquire();
+        PostContentResource content;
+        try {
+            content = postService.getContent(postId);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        RequestContextHolder.currentRequestAttributes()
+                .registerDestructionCallback(PostContentResource.class.getName(), () -> {
+                    content.close();
+                    release.run();
+                }, SCOPE_REQUEST);
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_MARKDOWN)
+                .body(content);
+    }
+
+    @GetMapping("/posts/{postId}/related")
+    public List<RelatedPostResponse> getRelated(@PathVariable Long postId,
+                                                @RequestParam(defaultValue = "5") int k) {
+        return postService.getRelated(postId, k);
     }
 
     @GetMapping("/posts")
-    public List<PostResponse> getList(@ModelAttribute PostSearch postSearch) {
-        return postService.getList(postSearch);
+    public CompletableFuture<List<PostResponse>> getList(@ModelAttribute PostSearch postSearch) {
+        return bulkheads.list().supply(() -> postService.getList(postSearch));
+    }
+
+    @GetMapping(value = "/posts", params = "ids")
+    public CompletableFuture<PostMultiGetResponse> getAll(@RequestParam List<Long> ids) {
+        new PostMultiGet(ids).validate();
+        return bulkheads.list().supply(() -> postService.getAll(ids));
+    }
+
+    @PostMapping("/posts/multi-get")
+    public CompletableFuture<PostMultiGetResponse> multiGet(@RequestBody @Valid PostMultiGet request) {
+        request.validate();
+        return bulkheads.list().supply(() -> postService.getAll(request.getIds()));
+    }
+
+    @GetMapping("/posts/suggest")
+    public List<TitleSuggestResponse> suggest(@RequestParam String prefix,
+                                              @RequestParam(defaultValue = "10") int size) {
+        return postService.suggest(prefix, size);
+    }
+
+    @GetMapping("/posts/popular")
+    public List<PopularPostResponse> getPopular(@RequestParam(defaultValue = "1h") String window,
+                                                @RequestParam(defaultValue = "10") int size) {
+        return postService.getPopular(window, size);
     }
 
     @PatchMapping("/posts/{postId}")
-    public void edit(@PathVariable Long postId, @RequestBody @Valid PostEdit postEdit) {
-        postService.edit(postId, postEdit);
+    public CompletableFuture<Void> edit(@PathVariable Long postId, @RequestBody @Valid PostEdit postEdit) {
+        return bulkheads.write().run(() -> postService.edit(postId, postEdit));
     }
 
     @DeleteMapping("/posts/{postId}")
-    public void delete(@PathVariable Long postId) {
-        postService.delete(postId);
+    public CompletableFuture<Void> delete(@PathVariable Long postId) {
+        return bulkheads.write().run(() -> postService.delete(postId));
     }
 }
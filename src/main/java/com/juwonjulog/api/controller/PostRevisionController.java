@@ -0,0 +1,34 @@
+package com.juwonjulog.api.controller;
+
+import com.juwonjulog.api.bulkhead.Bulkheads;
+import com.juwonjulog.api.response.PostRevisionDetailResponse;
+import com.juwonjulog.api.response.PostRevisionResponse;
+import com.juwonjulog.api.service.PostRevisionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequiredArgsConstructor
+public class PostRevisionController {
+
+    private final PostRevisionService postRevisionService;
+    private final Bulkheads bulkheads;
+
+    /**
+     * 최신 리비전부터 내려준다. 본문은 읽지 않으므로 리비전이 많아도 가볍다.
+     */
+    @GetMapping("/posts/{postId}/revisions")
+    public CompletableFuture<List<PostRevisionResponse>> getList(@PathVariable Long postId) {
+        return bulkheads.list().supply(() -> postRevisionService.getList(postId));
+    }
+
+    @GetMapping("/posts/{postId}/revisions/{rev}")
+    public CompletableFuture<PostRevisionDetailResponse> get(@PathVariable Long postId, @PathVariable int rev) {
+        return bulkheads.detail().supply(() -> postRevisionService.get(postId, rev));
+    }
+}
@@ -0,0 +1,77 @@
+package com.juwonjulog.api.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * cdsTrainingRun 태스크가 켜는 학습 실행. 기동이 끝나면 자주 쓰는 경로를 한 번씩 호출해서
+ * 첫 요청 때 로드되는 클래스까지 클래스 목록에 남기고, 앱을 종료한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("juwonjulog.startup.training-run")
+public class CdsTrainingRun {
+
+    private static final List<String> PATHS = List.of(
+            "/posts?page=1&size=10", "/posts/1", "/posts/suggest?prefix=a", "/feed.xml");
+
+    private final ConfigurableApplicationContext context;
+
+    public CdsTrainingRun(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train() {
+        String port = context.getEnvironment().getRequiredProperty("local.server.port");
+        for (String path : PATHS) {
+            train("http://localhost:" + port + path);
+        }
+        // 진단 경로는 관리용 포트에서만 열리므로, 포트가 있을 때만 호출한다.
+        String diagnosticsPort = context.getEnvironment().getProperty("juwonjulog.diagnostics.port");
+        if (diagnosticsPort != null) {
+            train("http://localhost:" + diagnosticsPort + "/diagnostics/startup");
+        }
+
+        // 준비 이벤트 처리 중에 닫으면 다른 리스너가 닫힌 컨텍스트를 보므로 별도 스레드에서 종료한다.
+        new Thread(() -> System.exit(SpringApplication.exit(context)), "cds-training-exit").start();
+    }
+
+    private static void train(String url) {
+        try {
+            int status = get(url);
+            log.info("training request {} -> {}", url, status);
+        } catch (IOException e) {
+            log.warn("training request {} failed", url, e);
+        }
+    }
+
+    private static int get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(30000);
+        try {
+            int status = connection.getResponseCode();
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                try (body) {
+                    body.readAllBytes();
+                }
+            }
+            return status;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
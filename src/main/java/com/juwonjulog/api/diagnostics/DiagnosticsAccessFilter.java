@@ -0,0 +1,39 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.juwonjulog.api.config.DiagnosticsProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * /diagnostics/** 는 juwonjulog.diagnostics.port 로 들어온 요청만 받고, 나머지는 없는 경로처럼 404 로 돌려보낸다.
+ * 반대로 관리용 포트에서는 /diagnostics/** 외의 경로를 받지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DiagnosticsAccessFilter extends OncePerRequestFilter {
+
+    private static final String PREFIX = "/diagnostics/";
+
+    private final DiagnosticsProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Integer port = properties.getPort();
+        boolean managementPort = port != null && request.getLocalPort() == port;
+        boolean diagnostics = request.getRequestURI().startsWith(request.getContextPath() + PREFIX);
+
+        if (diagnostics != managementPort) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,58 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.querydsl.jpa.JPQLQuery;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+@Name("com.juwonjulog.Query")
+@Label("Querydsl Query")
+@Category({"Juwonjulog", "Repository"})
+@Description("Querydsl 쿼리 실행 시간과 JPQL, 결과 row 수")
+@StackTrace(false)
+public class QueryEvent extends Event {
+
+    @Label("JPQL")
+    String jpql;
+
+    @Label("Rows")
+    int rows;
+
+    /**
+     * 쿼리를 실행하면서 이벤트를 남긴다. 기록 중이 아니면 JPQL 문자열도 만들지 않는다.
+     */
+    public static <T> List<T> fetch(JPQLQuery<T> query) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+
+        List<T> rows = query.fetch();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.jpql = query.toString();
+            event.rows = rows.size();
+            event.commit();
+        }
+        return rows;
+    }
+
+    public static <T> T fetchOne(JPQLQuery<T> query) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+
+        T row = query.fetchOne();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.jpql = query.toString();
+            event.rows = row != null ? 1 : 0;
+            event.commit();
+        }
+        return row;
+    }
+}
@@ -0,0 +1,25 @@
+package com.juwonjulog.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.juwonjulog.Request")
+@Label("HTTP Request")
+@Category({"Juwonjulog", "Web"})
+@Description("HTTP 요청 하나의 처리 시간")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,77 @@
+package com.juwonjulog.api.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청마다 RequestEvent 를 남기고, 느린 요청이면 SlowRequestRecorder 에 알린다.
+ * 첫 요청이 끝난 시각은 StartupRecorder 가 기동 시간으로 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+    private final StartupRecorder startupRecorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        long start = System.nanoTime();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // bulkhead 에서 처리하는 요청은 여기서 스레드만 돌려주고, 응답이 끝났을 때 기록한다.
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent asyncEvent) {
+                        record(event, start, request, response);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent asyncEvent) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent asyncEvent) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent asyncEvent) {
+                    }
+                });
+            } else {
+                record(event, start, request, response);
+            }
+        }
+    }
+
+    private void record(RequestEvent event, long start, HttpServletRequest request, HttpServletResponse response) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.uri = request.getRequestURI();
+            event.status = response.getStatus();
+            event.commit();
+        }
+
+        startupRecorder.requestCompleted();
+
+        long duration = System.nanoTime() - start;
+        if (slowRequestRecorder.isSlow(duration)) {
+            slowRequestRecorder.capture(request.getMethod(), request.getRequestURI(), duration);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.juwonjulog.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.juwonjulog.ServiceCall")
+@Label("Service Call")
+@Category({"Juwonjulog", "Service"})
+@Description("PostService 메서드 호출 하나의 처리 시간")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,151 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.juwonjulog.api.config.JfrProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * juwonjulog.jfr.enabled 이면 JDK 기본(default) 설정 + 우리 이벤트로 JFR 을 켜두고, 최근 maxAge / maxSizeBytes 만큼만 ring buffer 로 유지한다.
+ * 느린 요청이 들어오면 그 시점의 buffer 를 captureDir 에 .jfr 파일로 남기고, 오래된 파일은 maxCaptures 개만 남기고 지운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowRequestRecorder {
+
+    private static final Pattern CAPTURE_NAME = Pattern.compile("slow-[0-9T\\-]+\\.jfr");
+    private static final DateTimeFormatter CAPTURE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss-SSS");
+
+    private final JfrProperties properties;
+
+    private final AtomicLong lastCaptureAt = new AtomicLong();
+    private final ExecutorService dumper = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-slow-request-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Recording recording;
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Files.createDirectories(properties.getCaptureDir());
+
+        recording = newRingBuffer(properties);
+        recording.start();
+    }
+
+    /**
+     * 시작하기 전의 ring buffer 기록. 오버헤드 벤치마크도 같은 설정으로 기록을 켜고 끄기 위해 쓴다.
+     */
+    public static Recording newRingBuffer(JfrProperties properties) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("juwonjulog-ring-buffer");
+        recording.enable(RequestEvent.class);
+        recording.enable(ServiceCallEvent.class);
+        recording.enable(QueryEvent.class);
+        // dump 파일이 밖으로 나가도 비밀번호나 토큰이 담긴 시스템 프로퍼티, 환경 변수는 남지 않게 한다.
+        recording.disable("jdk.InitialSystemProperty");
+        recording.disable("jdk.InitialEnvironmentVariable");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSizeBytes());
+        return recording;
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= properties.getSlowThreshold().toNanos();
+    }
+
+    /**
+     * 느린 요청이 끝났을 때 호출한다. 파일 쓰기는 별도 스레드에서 하므로 요청 스레드를 붙잡지 않는다.
+     */
+    public void capture(String method, String uri, long durationNanos) {
+        if (recording == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long last = lastCaptureAt.get();
+        if (now - last < properties.getMinCaptureInterval().toMillis() || !lastCaptureAt.compareAndSet(last, now)) {
+            return;
+        }
+
+        dumper.execute(() -> dump(method, uri, durationNanos));
+    }
+
+    public List<Path> getCaptures() {
+        try (Stream<Path> files = Files.list(properties.getCaptureDir())) {
+            return files.filter(file -> CAPTURE_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    public Optional<Path> getCapture(String name) {
+        if (!CAPTURE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+
+        Path file = properties.getCaptureDir().resolve(name);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private void dump(String method, String uri, long durationNanos) {
+        Path file = properties.getCaptureDir().resolve("slow-" + LocalDateTime.now().format(CAPTURE_TIME) + ".jfr");
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            // 다 쓰기 전의 파일이 목록/다운로드에 보이지 않도록 다른 이름으로 쓰고 옮긴다.
+            recording.dump(partial);
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE);
+            log.warn("slow request {} {} took {}ms, JFR recording dumped to {}",
+                    method, uri, durationNanos / 1_000_000, file);
+            prune();
+        } catch (IOException e) {
+            log.warn("failed to dump JFR recording for slow request {} {}", method, uri, e);
+        }
+    }
+
+    private void prune() throws IOException {
+        List<Path> captures = getCaptures();
+        for (Path old : captures.subList(Math.min(captures.size(), properties.getMaxCaptures()), captures.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        dumper.shutdown();
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.juwonjulog.api.response.StartupResponse;
+import com.juwonjulog.api.response.StartupStepResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * JVM 시작부터 준비 완료(ApplicationReadyEvent)와 첫 요청 응답까지의 시간을 남기고,
+ * JuwonjulogApplication 이 BufferingApplicationStartup 으로 모은 단계별 기록을 요약한다.
+ * lazy 초기화로 첫 요청 때 만들어지는 빈도 버퍼가 남아 있는 동안은 같이 기록된다.
+ */
+@Slf4j
+@Component
+public class StartupRecorder {
+
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    private final ApplicationStartup applicationStartup;
+
+    private volatile Long readyMillis;
+    private volatile Long firstRequestMillis;
+
+    public StartupRecorder(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready() {
+        readyMillis = uptimeMillis();
+        log.info("application ready {}ms after JVM start", readyMillis);
+    }
+
+    /**
+     * 요청 하나가 끝날 때마다 불린다. 첫 번째만 기록한다.
+     */
+    public void requestCompleted() {
+        if (firstRequestMillis != null) {
+            return;
+        }
+        synchronized (this) {
+            if (firstRequestMillis == null) {
+                firstRequestMillis = uptimeMillis();
+                log.info("first request served {}ms after JVM start", firstRequestMillis);
+            }
+        }
+    }
+
+    public StartupResponse getStats(int size) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup)) {
+            return StartupResponse.builder()
+                    .recording(false)
+                    .readyMillis(readyMillis)
+                    .firstRequestMillis(firstRequestMillis)
+                    .phases(Collections.emptyList())
+                    .slowestBeans(Collections.emptyList())
+                    .build();
+        }
+
+        List<StartupTimeline.TimelineEvent> events =
+                ((BufferingApplicationStartup) applicationStartup).getBufferedTimeline().getEvents();
+
+        List<StartupStepResponse> phases = events.stream()
+                .filter(event -> !BEAN_INSTANTIATE.equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime))
+                .map(StartupRecorder::toResponse)
+                .collect(Collectors.toList());
+
+        List<StartupStepResponse> slowestBeans = events.stream()
+                .filter(event -> BEAN_INSTANTIATE.equals(event.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(size)
+                .map(StartupRecorder::toResponse)
+                .collect(Collectors.toList());
+
+        return StartupResponse.builder()
+                .recording(true)
+                .readyMillis(readyMillis)
+                .firstRequestMillis(firstRequestMillis)
+                .phases(phases)
+                .slowestBeans(slowestBeans)
+                .build();
+    }
+
+    private static StartupStepResponse toResponse(StartupTimeline.TimelineEvent event) {
+        StartupStep step = event.getStartupStep();
+        String detail = null;
+        StringJoiner tags = new StringJoiner(", ");
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                detail = tag.getValue();
+                break;
+            }
+            tags.add(tag.getKey() + "=" + tag.getValue());
+        }
+        if (detail == null && tags.length() > 0) {
+            detail = tags.toString();
+        }
+        return new StartupStepResponse(step.getName(), detail, event.getDuration().toMillis());
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
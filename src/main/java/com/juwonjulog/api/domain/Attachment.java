@@ -0,0 +1,53 @@
+package com.juwonjulog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_attachment_post_id", columnList = "post_id"),
+        @Index(name = "idx_attachment_sha256", columnList = "sha256")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    private String filename;
+
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    /**
+     * 파일 내용의 SHA-256(hex). 저장 파일 이름이자 ETag 로 쓴다.
+     */
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public Attachment(Post post, String filename, String contentType, long size, String sha256) {
+        this.post = post;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+        this.createdAt = LocalDateTime.now();
+    }
+}
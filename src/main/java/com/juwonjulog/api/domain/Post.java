@@ -4,16 +4,30 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Getter
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_post_deleted_at_category_id", columnList = "deleted_at, category, id desc"),
+        @Index(name = "idx_post_deleted_at_created_at", columnList = "deleted_at, created_at")
+})
+@Where(clause = "deleted_at is null")
+@EntityListeners(PostChangePublisher.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Post {
 
+    /**
+     * 시간 순서대로 커지고 아래 비트에 shard 번호가 들어 있는 id. PostIdGenerator 가 만든다.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "post_id")
+    @GenericGenerator(name = "post_id", strategy = "com.juwonjulog.api.shard.PostIdGenerator")
     private Long id;
 
     private String title;
@@ -21,10 +35,51 @@ public class Post {
     @Lob
     private String content;
 
+    /**
+     * content 의 UTF-8 바이트 길이. Range 요청에 답할 때 LOB 을 다 읽지 않고 Content-Length 를 알기 위해 저장해둔다.
+     */
+    private Long contentBytes;
+
+    @Lob
+    private String contentHtml;
+
+    private String contentHash;
+
+    private Integer renderVersion;
+
+    private String category;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * DB에 반영된 조회수. 조회할 때마다 올리지 않고 PostViewCounter 가 모아서 JDBC 로 더한다.
+     */
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private long views;
+
+    /**
+     * 삭제된 시각. 삭제는 이 값만 채우는 UPDATE 한 번으로 끝내고, 실제 row 는 PostPurger 가 한가한 시간에 나눠서 지운다.
+     * 클래스의 @Where 때문에 JPA/Querydsl 로 읽는 경로에서는 값이 있는 글이 보이지 않는다.
+     */
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    /**
+     * 마지막 UPDATE 이후 edit 로 제목이나 본문이 바뀌었는지. 렌더링 결과만 바뀐 UPDATE 와 구분하려고
+     * PostChangePublisher 가 읽고 되돌린다.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean edited;
+
     @Builder
-    public Post(String title, String content) {
+    public Post(String title, String content, String category, LocalDateTime createdAt) {
         this.title = title;
         this.content = content;
+        this.contentBytes = utf8Length(content);
+        this.category = category;
+        this.createdAt = createdAt != null ? createdAt : LocalDateTime.now();
     }
 
     public PostEditor.PostEditorBuilder toEditor() {
@@ -34,7 +89,53 @@ public class Post {
     }
 
     public void edit(PostEditor postEditor) {
+        this.edited |= !Objects.equals(this.title, postEditor.getTitle())
+                || !Objects.equals(this.content, postEditor.getContent());
         this.title = postEditor.getTitle();
         this.content = postEditor.getContent();
+        this.contentBytes = utf8Length(postEditor.getContent());
+    }
+
+    boolean consumeEdited() {
+        boolean edited = this.edited;
+        this.edited = false;
+        return edited;
+    }
+
+    public boolean isRendered(String contentHash, int renderVersion) {
+        return contentHash.equals(this.contentHash)
+                && this.renderVersion != null
+                && this.renderVersion == renderVersion;
+    }
+
+    public void rendered(String contentHtml, String contentHash, int renderVersion) {
+        this.contentHtml = contentHtml;
+        this.contentHash = contentHash;
+        this.renderVersion = renderVersion;
+    }
+
+    private static long utf8Length(String value) {
+        if (value == null) {
+            return 0L;
+        }
+
+        long length = 0L;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 }
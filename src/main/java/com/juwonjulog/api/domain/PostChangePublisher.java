@@ -0,0 +1,41 @@
+package com.juwonjulog.api.domain;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Post 의 JPA 생명주기 이벤트를 PostChangedEvent 로 바꿔 발행한다.
+ * PostService 뿐 아니라 Repository 로 직접 쓰는 경우(재렌더링 작업, 테스트 데이터)도 메모리 캐시에 반영되게 하기 위해
+ * 서비스가 아니라 엔티티에서 발행한다. 구독하는 쪽은 커밋 후에 받는다.
+ * 삭제는 엔티티를 거치지 않는 UPDATE 라서 PostService.delete 가 직접 발행한다.
+ * 제목이나 본문이 바뀐 UPDATE 만 EDITED 이고, 렌더링 결과만 바뀐 UPDATE(MarkdownRerenderJob)는 RERENDERED 로 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    void created(Post post) {
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), PostChangedEvent.Type.CREATED));
+    }
+
+    @PostUpdate
+    void edited(Post post) {
+        PostChangedEvent.Type type = post.consumeEdited()
+                ? PostChangedEvent.Type.EDITED
+                : PostChangedEvent.Type.RERENDERED;
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), type));
+    }
+
+    @PostRemove
+    void deleted(Post post) {
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), PostChangedEvent.Type.DELETED));
+    }
+}
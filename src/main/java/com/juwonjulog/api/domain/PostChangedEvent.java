@@ -0,0 +1,27 @@
+package com.juwonjulog.api.domain;
+
+import lombok.Getter;
+
+/**
+ * 게시글이 JPA 로 저장/수정되면 PostChangePublisher 가, 삭제되면 PostService 가 발행한다. 메모리에 미리 만들어두는 응답들은 커밋 후에 이 이벤트로 갱신한다.
+ */
+@Getter
+public class PostChangedEvent {
+
+    public enum Type {
+        CREATED, EDITED, DELETED,
+
+        /**
+         * 제목과 본문은 그대로이고 렌더링된 HTML 만 바뀌었다. 글이 수정된 것으로 보지 않는다.
+         */
+        RERENDERED
+    }
+
+    private final Long postId;
+    private final Type type;
+
+    public PostChangedEvent(Long postId, Type type) {
+        this.postId = postId;
+        this.type = type;
+    }
+}
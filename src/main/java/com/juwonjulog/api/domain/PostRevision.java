@@ -0,0 +1,70 @@
+package com.juwonjulog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 게시글의 한 버전. 본문은 keyframe 이면 UTF-8 전체를, 아니면 바로 전 리비전 본문에 대한 BinaryDelta 를 data 에 담는다.
+ *
+ * <p>post 에 외래키를 걸지 않는다. 게시글 row 는 PostPurger 가 지우고, 그때 리비전도 같이 지운다.
+ * (post_id, rev) unique 제약이 조회 인덱스이면서, 동시에 같은 글을 수정해 delta 사슬이 갈라지는 것을 막는다.</p>
+ */
+@Getter
+@Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_revision_post_id_rev", columnNames = {"post_id", "rev"})
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(nullable = false)
+    private int rev;
+
+    private String title;
+
+    @Column(nullable = false)
+    private boolean keyframe;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    /**
+     * data 의 바이트 수. 목록을 보여줄 때 LOB 을 읽지 않고 저장 크기를 알려주려고 따로 둔다.
+     */
+    @Column(nullable = false)
+    private int dataSize;
+
+    /**
+     * 이 리비전 본문의 UTF-8 바이트 수.
+     */
+    @Column(nullable = false)
+    private long contentBytes;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public PostRevision(Long postId, int rev, String title, boolean keyframe, byte[] data, long contentBytes) {
+        this.postId = postId;
+        this.rev = rev;
+        this.title = title;
+        this.keyframe = keyframe;
+        this.data = data;
+        this.dataSize = data.length;
+        this.contentBytes = contentBytes;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,15 @@
+package com.juwonjulog.api.exception;
+
+public class AttachmentNotFound extends JuwonjulogException {
+
+    private static final String MESSAGE = "존재하지 않는 첨부파일입니다.";
+
+    public AttachmentNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
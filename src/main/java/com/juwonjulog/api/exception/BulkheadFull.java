@@ -0,0 +1,15 @@
+package com.juwonjulog.api.exception;
+
+public class BulkheadFull extends JuwonjulogException {
+
+    private static final String MESSAGE = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    public BulkheadFull() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 503;
+    }
+}
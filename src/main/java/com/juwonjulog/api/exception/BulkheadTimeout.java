@@ -0,0 +1,15 @@
+package com.juwonjulog.api.exception;
+
+public class BulkheadTimeout extends JuwonjulogException {
+
+    private static final String MESSAGE = "요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.";
+
+    public BulkheadTimeout() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 503;
+    }
+}
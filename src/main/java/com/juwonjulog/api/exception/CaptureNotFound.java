@@ -0,0 +1,15 @@
+package com.juwonjulog.api.exception;
+
+public class CaptureNotFound extends JuwonjulogException {
+
+    private static final String MESSAGE = "존재하지 않는 기록입니다.";
+
+    public CaptureNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,15 @@
+package com.juwonjulog.api.exception;
+
+public class RevisionNotFound extends JuwonjulogException {
+
+    private static final String MESSAGE = "존재하지 않는 리비전입니다.";
+
+    public RevisionNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
@@ -0,0 +1,37 @@
+package com.juwonjulog.api.json;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 응답을 쓸 때 쓰는 byte[] 버퍼를 돌려쓴다. 비어 있으면 새로 만들고, 꽉 차 있으면 돌려받은 버퍼를 버린다.
+ */
+public class JsonBufferPool {
+
+    /**
+     * JsonOutput 이 숫자나 날짜 하나를 나누지 않고 쓰려면 버퍼가 이만큼은 되어야 한다.
+     */
+    static final int MIN_BUFFER_SIZE = 64;
+
+    private final int bufferSize;
+    private final BlockingQueue<byte[]> buffers;
+
+    public JsonBufferPool(int bufferSize, int capacity) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("bufferSize must be at least " + MIN_BUFFER_SIZE);
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.juwonjulog.api.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JSON 값을 UTF-8 로 바로 OutputStream 에 쓴다. 문자열 escape 와 날짜 형식은 Spring Boot 기본 ObjectMapper(Jackson 2.13)와 같다.
+ *
+ * <p>제어 문자는 \n 같은 짧은 escape 나 대문자 \\uXXXX 로, surrogate 는 쌍이어도 하나씩 \\uXXXX 로 쓴다.
+ * LocalDateTime 은 ISO_LOCAL_DATE_TIME 으로, 초는 항상 쓰고 나노초는 뒤쪽 0을 뗀다.</p>
+ *
+ * <p>버퍼는 JsonBufferPool 에서 빌리고 close 할 때 돌려준다. 감싼 OutputStream 은 닫지 않는다.</p>
+ */
+public final class JsonOutput implements Closeable {
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    /**
+     * ASCII 문자별 escape. 0 이면 그대로, -1 이면 \\uXXXX, 그 외에는 역슬래시 뒤에 붙일 문자.
+     */
+    private static final int[] ESCAPES = new int[128];
+
+    /**
+     * escape 하나가 차지하는 최대 바이트 수(\\uXXXX).
+     */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private final OutputStream out;
+    private final JsonBufferPool pool;
+    private byte[] buffer;
+    private int position;
+
+    public JsonOutput(OutputStream out, JsonBufferPool pool) {
+        this.out = out;
+        this.pool = pool;
+        this.buffer = pool.acquire();
+    }
+
+    public void writeRaw(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) c;
+    }
+
+    /**
+     * 미리 인코딩해둔 ASCII 조각(필드 이름과 구분자)을 그대로 쓴다.
+     */
+    public void writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeNull() throws IOException {
+        writeRaw(NULL);
+    }
+
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        writeRaw('"');
+        for (int i = 0; i < value.length(); i++) {
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                int escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer[position++] = (byte) c;
+                } else if (escape > 0) {
+                    buffer[position++] = '\\';
+                    buffer[position++] = (byte) escape;
+                } else {
+                    writeUnicodeEscape(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writeUnicodeEscape(c);
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeRaw('"');
+    }
+
+    public void writeNumber(Long value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeNumber(value.longValue());
+    }
+
+    public void writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (buffer.length - position < 20) {
+            flushBuffer();
+        }
+
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        position = writeDigits(value, digitCount(value));
+    }
+
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        // "yyyy-MM-ddTHH:mm:ss.nnnnnnnnn" 에 따옴표 둘
+        if (buffer.length - position < 31) {
+            flushBuffer();
+        }
+
+        buffer[position++] = '"';
+        position = writeDigits(value.getYear(), 4);
+        buffer[position++] = '-';
+        position = writeDigits(value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(value.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(nano, width);
+        }
+        buffer[position++] = '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flushBuffer();
+        } finally {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xF];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    /**
+     * 음이 아닌 value 를 앞을 0으로 채운 width 자리로 쓰고 다음 위치를 돌려준다.
+     */
+    private int writeDigits(long value, int width) {
+        int end = position + width;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
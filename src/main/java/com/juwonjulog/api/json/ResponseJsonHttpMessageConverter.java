@@ -0,0 +1,80 @@
+package com.juwonjulog.api.json;
+
+import com.juwonjulog.api.response.ErrorResponse;
+import com.juwonjulog.api.response.PostResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * PostResponse, List&lt;PostResponse&gt;, ErrorResponse 만 ResponseJsonWriter 로 쓰고, 나머지와 요청 본문 읽기는 Jackson 에 맡긴다.
+ * Jackson 컨버터보다 앞에 등록해야 한다.
+ */
+public class ResponseJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonBufferPool bufferPool;
+
+    public ResponseJsonHttpMessageConverter(JsonBufferPool bufferPool) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PostResponse.class.isAssignableFrom(clazz) || ErrorResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return canWrite(clazz, mediaType);
+        }
+
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass())
+                && resolved.getGeneric(0).toClass() == PostResponse.class
+                && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonOutput json = new JsonOutput(outputMessage.getBody(), bufferPool)) {
+            if (value instanceof PostResponse) {
+                ResponseJsonWriter.write(json, (PostResponse) value);
+            } else if (value instanceof ErrorResponse) {
+                ResponseJsonWriter.write(json, (ErrorResponse) value);
+            } else {
+                ResponseJsonWriter.write(json, (List<PostResponse>) value);
+            }
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("응답 전용 컨버터입니다.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("응답 전용 컨버터입니다.", inputMessage);
+    }
+}
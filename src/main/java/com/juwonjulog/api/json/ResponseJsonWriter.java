@@ -0,0 +1,91 @@
+package com.juwonjulog.api.json;
+
+import com.juwonjulog.api.response.ErrorResponse;
+import com.juwonjulog.api.response.PostResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 자주 나가는 응답을 리플렉션 없이 필드 순서대로 쓴다. 필드 순서와 null 처리는 Jackson 이 getter 로 만들던 것과 같다.
+ * 응답 클래스에 필드를 더하면 여기에도 더해야 한다.
+ */
+public final class ResponseJsonWriter {
+
+    private static final byte[] POST_ID = ascii("{\"id\":");
+    private static final byte[] POST_TITLE = ascii(",\"title\":");
+    private static final byte[] POST_CONTENT = ascii(",\"content\":");
+    private static final byte[] POST_CONTENT_HTML = ascii(",\"contentHtml\":");
+    private static final byte[] POST_CATEGORY = ascii(",\"category\":");
+    private static final byte[] POST_CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] POST_VIEWS = ascii(",\"views\":");
+
+    private static final byte[] ERROR_CODE = ascii("{\"code\":");
+    private static final byte[] ERROR_MESSAGE = ascii(",\"message\":");
+    private static final byte[] ERROR_VALIDATION = ascii(",\"validation\":");
+
+    private ResponseJsonWriter() {
+    }
+
+    public static void write(JsonOutput json, PostResponse post) throws IOException {
+        json.writeRaw(POST_ID);
+        json.writeNumber(post.getId());
+        json.writeRaw(POST_TITLE);
+        json.writeString(post.getTitle());
+        json.writeRaw(POST_CONTENT);
+        json.writeString(post.getContent());
+        json.writeRaw(POST_CONTENT_HTML);
+        json.writeString(post.getContentHtml());
+        json.writeRaw(POST_CATEGORY);
+        json.writeString(post.getCategory());
+        json.writeRaw(POST_CREATED_AT);
+        json.writeDateTime(post.getCreatedAt());
+        json.writeRaw(POST_VIEWS);
+        json.writeNumber(post.getViews());
+        json.writeRaw('}');
+    }
+
+    public static void write(JsonOutput json, List<PostResponse> posts) throws IOException {
+        json.writeRaw('[');
+        for (int i = 0; i < posts.size(); i++) {
+            if (i > 0) {
+                json.writeRaw(',');
+            }
+            write(json, posts.get(i));
+        }
+        json.writeRaw(']');
+    }
+
+    public static void write(JsonOutput json, ErrorResponse error) throws IOException {
+        json.writeRaw(ERROR_CODE);
+        json.writeString(error.getCode());
+        json.writeRaw(ERROR_MESSAGE);
+        json.writeString(error.getMessage());
+        json.writeRaw(ERROR_VALIDATION);
+
+        Map<String, String> validation = error.getValidation();
+        if (validation == null) {
+            json.writeNull();
+        } else {
+            json.writeRaw('{');
+            boolean first = true;
+            for (Map.Entry<String, String> entry : validation.entrySet()) {
+                if (!first) {
+                    json.writeRaw(',');
+                }
+                json.writeString(entry.getKey());
+                json.writeRaw(':');
+                json.writeString(entry.getValue());
+                first = false;
+            }
+            json.writeRaw('}');
+        }
+        json.writeRaw('}');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
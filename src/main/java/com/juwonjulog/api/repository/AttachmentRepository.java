@@ -0,0 +1,16 @@
+package com.juwonjulog.api.repository;
+
+import com.juwonjulog.api.domain.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AttachmentRepository extends JpaRepository<Attachment, Long>, AttachmentRepositoryCustom {
+
+    List<Attachment> findAllByPostIdOrderByIdAsc(Long postId);
+
+    Optional<Attachment> findByIdAndPostId(Long id, Long postId);
+
+    boolean existsBySha256(String sha256);
+}
@@ -0,0 +1,11 @@
+package com.juwonjulog.api.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AttachmentRepositoryCustom {
+
+    List<String> getSha256ByPostIdIn(Collection<Long> postIds);
+
+    long deleteAllByPostIdIn(Collection<Long> postIds);
+}
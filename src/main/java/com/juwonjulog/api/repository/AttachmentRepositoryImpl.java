@@ -0,0 +1,34 @@
+package com.juwonjulog.api.repository;
+
+import com.juwonjulog.api.diagnostics.QueryEvent;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.juwonjulog.api.domain.QAttachment.attachment;
+
+@RequiredArgsConstructor
+public class AttachmentRepositoryImpl implements AttachmentRepositoryCustom {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    /**
+     * 여러 글이 같은 파일을 가리킬 수 있으므로 해시는 한 번씩만 돌려준다.
+     */
+    @Override
+    public List<String> getSha256ByPostIdIn(Collection<Long> postIds) {
+        return QueryEvent.fetch(jpaQueryFactory.select(attachment.sha256)
+                .distinct()
+                .from(attachment)
+                .where(attachment.post.id.in(postIds)));
+    }
+
+    @Override
+    public long deleteAllByPostIdIn(Collection<Long> postIds) {
+        return jpaQueryFactory.delete(attachment)
+                .where(attachment.post.id.in(postIds))
+                .execute();
+    }
+}
@@ -0,0 +1,229 @@
+package com.juwonjulog.api.repository;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * 게시글 content 를 UTF-8 바이트 스트림으로 내려주는 Resource.
+ * 길이(content_bytes)와 LOB 을 한 문장으로 읽고, close() 할 때까지 그 트랜잭션을 열어 둔다.
+ * 응답을 쓰는 도중에 글이 수정되어도 Content-Length 와 본문은 같은 버전에서 나온다.
+ * getInputStream() 마다 같은 LOB 을 Reader 로 다시 열어 조금씩 인코딩하므로, 글 크기와 상관없이 메모리를 일정하게 쓴다.
+ * Spring MVC 가 Range 요청이면 이 Resource 를 ResourceRegion 으로 잘라서 206 응답을 만든다.
+ */
+public class PostContentResource extends AbstractResource implements Closeable {
+
+    private static final String SELECT_CONTENT = "select coalesce(content_bytes, 0), content from post"
+            + " where id = ? and deleted_at is null";
+
+    private final Long postId;
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final Clob content;
+    private final long contentLength;
+
+    private boolean closed;
+
+    private PostContentResource(Long postId, Connection connection, PreparedStatement statement, ResultSet resultSet)
+            throws SQLException {
+        this.postId = postId;
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.contentLength = resultSet.getLong(1);
+        this.content = resultSet.getClob(2);
+    }
+
+    /**
+     * 글이 없으면 빈 값을 돌려준다. 돌려받은 Resource 는 다 쓰고 나서 반드시 close() 해야 커넥션이 반납된다.
+     */
+    public static Optional<PostContentResource> open(DataSource dataSource, Long postId) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            statement = connection.prepareStatement(SELECT_CONTENT);
+            statement.setLong(1, postId);
+            resultSet = statement.executeQuery();
+
+            if (!resultSet.next()) {
+                closeQuietly(connection, statement, resultSet);
+                return Optional.empty();
+            }
+            return Optional.of(new PostContentResource(postId, connection, statement, resultSet));
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(connection, statement, resultSet);
+            throw new DataAccessResourceFailureException("failed to open post content [id=" + postId + "]", e);
+        }
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getDescription() {
+        return "post content [id=" + postId + "]";
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (closed) {
+            throw new IOException(getDescription() + " is already closed");
+        }
+        try {
+            return new Utf8InputStream(content.getCharacterStream());
+        } catch (SQLException e) {
+            throw new IOException("failed to open " + getDescription(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            content.free();
+        } catch (SQLException ignored) {
+            // 커넥션을 닫으면 같이 정리된다.
+        }
+        closeQuietly(connection, statement, resultSet);
+    }
+
+    private static void closeQuietly(Connection connection, PreparedStatement statement, ResultSet resultSet) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (Exception ignored) {
+                // 읽기만 했으므로 되돌릴 것이 없다.
+            }
+        }
+        for (AutoCloseable closeable : new AutoCloseable[]{resultSet, statement, connection}) {
+            if (closeable == null) {
+                continue;
+            }
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // 이미 응답을 쓰는 중이라 닫기 실패는 무시한다.
+            }
+        }
+    }
+
+    /**
+     * LOB Reader 를 UTF-8 로 인코딩하면서 읽는다. JDBC 자원은 Resource 가 닫는다.
+     */
+    private static final class Utf8InputStream extends InputStream {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final Reader reader;
+
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        // char 하나는 UTF-8 로 최대 3바이트라, 한 번 읽은 chars 는 항상 bytes 에 다 인코딩된다.
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE * 3);
+
+        private boolean endOfInput;
+        private boolean closed;
+
+        private Utf8InputStream(Reader reader) {
+            this.reader = reader;
+            this.chars.flip();
+            this.bytes.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!bytes.hasRemaining() && !fill()) {
+                return -1;
+            }
+
+            int count = Math.min(length, bytes.remaining());
+            bytes.get(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return bytes.remaining();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            reader.close();
+        }
+
+        private boolean fill() throws IOException {
+            bytes.clear();
+            try {
+                while (bytes.position() == 0) {
+                    if (endOfInput) {
+                        encoder.flush(bytes);
+                        break;
+                    }
+
+                    chars.compact();
+                    int read = reader.read(chars);
+                    chars.flip();
+                    if (read == -1) {
+                        endOfInput = true;
+                    }
+
+                    CoderResult result = encoder.encode(chars, bytes, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                }
+            } finally {
+                bytes.flip();
+            }
+            return bytes.hasRemaining();
+        }
+    }
+}
@@ -3,5 +3,16 @@ package com.juwonjulog.api.repository;
 import com.juwonjulog.api.domain.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    /**
+     * JpaRepository 대신 PostRepositoryImpl 이 글의 shard 에서 읽는다.
+     */
+    @Override
+    Optional<Post> findById(Long id);
+
+    @Override
+    boolean existsById(Long id);
 }
@@ -3,9 +3,33 @@ package com.juwonjulog.api.repository;
 import com.juwonjulog.api.domain.Post;
 import com.juwonjulog.api.request.PostSearch;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * findById, existsById 와 글 하나를 다루는 메서드는 id 가 가리키는 shard 에서 돈다.
+ * getList, getAllByIds, getAllAfter 는 모든 shard 에서 읽어 합친다.
+ * 그 밖의 JpaRepository 메서드와 getRenderStale 은 지금 스레드의 shard 에서만 돈다(PostShards).
+ */
 public interface PostRepositoryCustom {
 
+    Optional<Post> findById(Long id);
+
+    boolean existsById(Long id);
+
     List<Post> getList(PostSearch postSearch);
+
+    List<Post> getAllByIds(Collection<Long> ids);
+
+    Optional<PostContentResource> getContent(Long postId);
+
+    Optional<Post> getForUpdate(Long postId);
+
+    List<Post> getAllAfter(long lastId, int limit);
+
+    List<Post> getRenderStale(int renderVersion, long lastId, int limit);
+
+    long softDelete(Long postId, LocalDateTime deletedAt);
 }
@@ -1,25 +1,222 @@
 package com.juwonjulog.api.repository;
 
+import com.juwonjulog.api.diagnostics.QueryEvent;
 import com.juwonjulog.api.domain.Post;
 import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.shard.PostShards;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 
+import javax.persistence.LockModeType;
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
 
 import static com.juwonjulog.api.domain.QPost.post;
 
 @RequiredArgsConstructor
 public class PostRepositoryImpl implements PostRepositoryCustom {
 
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final Comparator<Post> ID_ASC = Comparator.comparing(Post::getId);
+
     private final JPAQueryFactory jpaQueryFactory;
+    private final DataSource dataSource;
+    private final PostShards postShards;
 
+    @Override
+    public Optional<Post> findById(Long id) {
+        return postShards.onPost(id, () -> QueryEvent.fetch(jpaQueryFactory.selectFrom(post)
+                        .where(post.id.eq(id)))
+                .stream()
+                .findFirst());
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return postShards.onPost(id, () -> QueryEvent.fetchOne(jpaQueryFactory.selectOne()
+                .from(post)
+                .where(post.id.eq(id))) != null);
+    }
+
+    /**
+     * shard 가 여럿이면 같은 조건의 쿼리를 모든 shard 에 동시에 보내고, shard 마다 offset + size 개까지만 읽는다.
+     * id 가 시간 순서라 각 결과를 id 역순으로 합친 뒤 offset 만큼 건너뛰면 단일 DB 의 페이지와 같다.
+     */
     @Override
     public List<Post> getList(PostSearch postSearch) {
-        return jpaQueryFactory.selectFrom(post)
-                .limit(postSearch.getSize())
-                .offset(postSearch.getOffset())
-                .orderBy(post.id.desc())
-                .fetch();
+        if (postShards.count() == 1) {
+            return fetchList(postSearch, postSearch.getOffset(), postSearch.getSize());
+        }
+
+        long offset = postSearch.getOffset();
+        List<List<Post>> perShard = postShards.onEach(shard -> fetchList(postSearch, 0L, offset + postSearch.getSize()));
+        return merge(perShard, ID_ASC.reversed(), offset, postSearch.getSize());
+    }
+
+    @Override
+    public List<Post> getAllByIds(Collection<Long> ids) {
+        if (postShards.count() == 1) {
+            return fetchAllByIds(new ArrayList<>(ids));
+        }
+
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .collect(Collectors.groupingBy(postShards::shardOf));
+        return postShards.onEach(shard -> fetchAllByIds(idsByShard.getOrDefault(shard, List.of()))).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<PostContentResource> getContent(Long postId) {
+        return postShards.onPost(postId, () -> PostContentResource.open(dataSource, postId));
+    }
+
+    /**
+     * 글 row 에 쓰기 lock 을 잡고 읽는다. 같은 글을 고치는 트랜잭션은 앞의 트랜잭션이 끝날 때까지 기다린다.
+     * lock 은 트랜잭션이 글의 shard 에서 열려 있어야 의미가 있으므로, 부르는 쪽은 @PostShard 로 shard 를 먼저 정한다.
+     */
+    @Override
+    public Optional<Post> getForUpdate(Long postId) {
+        return postShards.onPost(postId, () -> QueryEvent.fetch(jpaQueryFactory.selectFrom(post)
+                        .where(post.id.eq(postId))
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE))
+                .stream()
+                .findFirst());
+    }
+
+    /**
+     * 모든 shard 에서 lastId 다음 글을 limit 개씩 읽어 id 순으로 합친다. 다음 호출은 돌려준 마지막 id 부터 이어 읽으면 된다.
+     */
+    @Override
+    public List<Post> getAllAfter(long lastId, int limit) {
+        List<List<Post>> perShard = postShards.onEach(shard -> QueryEvent.fetch(jpaQueryFactory.selectFrom(post)
+                .where(post.id.gt(lastId))
+                .orderBy(post.id.asc())
+                .limit(limit)));
+        return perShard.size() == 1 ? perShard.get(0) : merge(perShard, ID_ASC, 0L, limit);
+    }
+
+    /**
+     * 지금 shard 의 글만 읽는다. 읽은 글을 같은 트랜잭션에서 고치므로 MarkdownRerenderJob 이 shard 마다 부른다.
+     */
+    @Override
+    public List<Post> getRenderStale(int renderVersion, long lastId, int limit) {
+        return QueryEvent.fetch(jpaQueryFactory.selectFrom(post)
+                .where(post.id.gt(lastId),
+                        post.renderVersion.isNull().or(post.renderVersion.lt(renderVersion)))
+                .orderBy(post.id.asc())
+                .limit(limit));
+    }
+
+    /**
+     * 아직 삭제되지 않은 글에만 삭제 시각을 채운다. 글을 읽어오지 않고 UPDATE 한 번으로 끝내며, 바뀐 row 수를 돌려준다.
+     */
+    @Override
+    public long softDelete(Long postId, LocalDateTime deletedAt) {
+        return postShards.onPost(postId, () -> jpaQueryFactory.update(post)
+                .set(post.deletedAt, deletedAt)
+                .where(post.id.eq(postId), post.deletedAt.isNull())
+                .execute());
+    }
+
+    private List<Post> fetchList(PostSearch postSearch, long offset, long limit) {
+        return QueryEvent.fetch(jpaQueryFactory.selectFrom(post)
+                .where(categoryEq(postSearch.getCategory()),
+                        createdAtGoe(postSearch.getStartDate()),
+                        createdAtBefore(postSearch.getEndDate()))
+                .limit(limit)
+                .offset(offset)
+                .orderBy(post.id.desc()));
+    }
+
+    private List<Post> fetchAllByIds(List<Long> idList) {
+        List<Post> posts = new ArrayList<>(idList.size());
+
+        for (int from = 0; from < idList.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, idList.size()));
+            posts.addAll(QueryEvent.fetch(jpaQueryFactory.selectFrom(post)
+                    .where(post.id.in(chunk))));
+        }
+        return posts;
+    }
+
+    /**
+     * 이미 order 순서로 정렬된 shard 별 결과를 k-way merge 해서 skip 개를 건너뛴 뒤 limit 개를 돌려준다.
+     */
+    static List<Post> merge(List<List<Post>> sorted, Comparator<Post> order, long skip, long limit) {
+        PriorityQueue<PeekingCursor> heads = new PriorityQueue<>(sorted.size(),
+                (a, b) -> order.compare(a.peek(), b.peek()));
+        for (List<Post> posts : sorted) {
+            if (!posts.isEmpty()) {
+                heads.add(new PeekingCursor(posts));
+            }
+        }
+
+        List<Post> merged = new ArrayList<>((int) Math.min(limit, 1024));
+        long skipped = 0L;
+        while (merged.size() < limit && !heads.isEmpty()) {
+            PeekingCursor head = heads.poll();
+            Post next = head.next();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(next);
+            }
+            if (head.hasNext()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    /*
+     * 삭제된 글을 빼는 deleted_at is null 조건은 Post 의 @Where 로 모든 select 에 붙으므로 여기서 따로 걸지 않는다.
+     * 조건은 컬럼에 함수를 씌우지 않는 단순 비교로만 만든다.
+     * 모든 목록 조회에 deleted_at is null 이 붙으므로 인덱스도 deleted_at 을 앞에 둔다.
+     * category 는 idx_post_deleted_at_category_id, 날짜 범위는 idx_post_deleted_at_created_at 을 타야 한다.
+     */
+    private BooleanExpression categoryEq(String category) {
+        return category != null ? post.category.eq(category) : null;
+    }
+
+    private BooleanExpression createdAtGoe(LocalDate startDate) {
+        return startDate != null ? post.createdAt.goe(startDate.atStartOfDay()) : null;
+    }
+
+    private BooleanExpression createdAtBefore(LocalDate endDate) {
+        return endDate != null ? post.createdAt.lt(endDate.plusDays(1).atStartOfDay()) : null;
+    }
+
+    private static final class PeekingCursor {
+
+        private final List<Post> posts;
+        private int position;
+
+        private PeekingCursor(List<Post> posts) {
+            this.posts = posts;
+        }
+
+        private Post peek() {
+            return posts.get(position);
+        }
+
+        private Post next() {
+            return posts.get(position++);
+        }
+
+        private boolean hasNext() {
+            return position < posts.size();
+        }
     }
 }
@@ -0,0 +1,7 @@
+package com.juwonjulog.api.repository;
+
+import com.juwonjulog.api.domain.PostRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PostRevisionRepository extends JpaRepository<PostRevision, Long>, PostRevisionRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package com.juwonjulog.api.repository;
+
+import com.juwonjulog.api.domain.PostRevision;
+import com.juwonjulog.api.response.PostRevisionResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostRevisionRepositoryCustom {
+
+    List<PostRevisionResponse> getList(Long postId);
+
+    Integer getLatestRev(Long postId);
+
+    Integer getLatestKeyframeRev(Long postId, int rev);
+
+    List<PostRevision> getRange(Long postId, int fromRev, int toRev);
+
+    long deleteAllByPostIdIn(Collection<Long> postIds);
+}
@@ -0,0 +1,67 @@
+package com.juwonjulog.api.repository;
+
+import com.juwonjulog.api.diagnostics.QueryEvent;
+import com.juwonjulog.api.domain.PostRevision;
+import com.juwonjulog.api.response.PostRevisionResponse;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+import static com.juwonjulog.api.domain.QPostRevision.postRevision;
+
+@RequiredArgsConstructor
+public class PostRevisionRepositoryImpl implements PostRevisionRepositoryCustom {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    /**
+     * data(LOB) 는 빼고 목록에 필요한 컬럼만 읽는다.
+     */
+    @Override
+    public List<PostRevisionResponse> getList(Long postId) {
+        return QueryEvent.fetch(jpaQueryFactory.select(Projections.constructor(PostRevisionResponse.class,
+                        postRevision.rev,
+                        postRevision.title,
+                        postRevision.keyframe,
+                        postRevision.contentBytes,
+                        postRevision.dataSize,
+                        postRevision.createdAt))
+                .from(postRevision)
+                .where(postRevision.postId.eq(postId))
+                .orderBy(postRevision.rev.desc()));
+    }
+
+    @Override
+    public Integer getLatestRev(Long postId) {
+        return QueryEvent.fetchOne(jpaQueryFactory.select(postRevision.rev.max())
+                .from(postRevision)
+                .where(postRevision.postId.eq(postId)));
+    }
+
+    @Override
+    public Integer getLatestKeyframeRev(Long postId, int rev) {
+        return QueryEvent.fetchOne(jpaQueryFactory.select(postRevision.rev.max())
+                .from(postRevision)
+                .where(postRevision.postId.eq(postId),
+                        postRevision.rev.loe(rev),
+                        postRevision.keyframe.isTrue()));
+    }
+
+    @Override
+    public List<PostRevision> getRange(Long postId, int fromRev, int toRev) {
+        return QueryEvent.fetch(jpaQueryFactory.selectFrom(postRevision)
+                .where(postRevision.postId.eq(postId),
+                        postRevision.rev.between(fromRev, toRev))
+                .orderBy(postRevision.rev.asc()));
+    }
+
+    @Override
+    public long deleteAllByPostIdIn(Collection<Long> postIds) {
+        return jpaQueryFactory.delete(postRevision)
+                .where(postRevision.postId.in(postIds))
+                .execute();
+    }
+}
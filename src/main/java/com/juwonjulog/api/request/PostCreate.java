@@ -19,10 +19,13 @@ public class PostCreate {
     @NotBlank(message = "내용을 입력해주세요.")
     private String content;
 
+    private String category;
+
     @Builder
-    public PostCreate(String title, String content) {
+    public PostCreate(String title, String content, String category) {
         this.title = title;
         this.content = content;
+        this.category = category;
     }
 
     public void validate() {
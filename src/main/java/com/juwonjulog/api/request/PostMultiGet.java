@@ -0,0 +1,39 @@
+package com.juwonjulog.api.request;
+
+import com.juwonjulog.api.exception.InvalidRequest;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostMultiGet {
+
+    public static final int MAX_IDS = 5000;
+
+    private static final String TOO_MANY_IDS = "한 번에 조회할 수 있는 게시글은 최대 " + MAX_IDS + "개입니다.";
+
+    @NotEmpty(message = "조회할 게시글 ID를 입력해주세요.")
+    @Size(max = MAX_IDS, message = TOO_MANY_IDS)
+    private List<Long> ids;
+
+    @Builder
+    public PostMultiGet(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public void validate() {
+        if (ids.size() > MAX_IDS) {
+            throw new InvalidRequest("ids", TOO_MANY_IDS);
+        }
+        if (ids.contains(null)) {
+            throw new InvalidRequest("ids", "게시글 ID에 빈 값이 들어갈 수 없습니다.");
+        }
+    }
+}
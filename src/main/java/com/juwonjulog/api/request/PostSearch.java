@@ -4,6 +4,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDate;
+
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 
@@ -12,7 +14,7 @@ import static java.lang.Math.min;
 @Builder
 public class PostSearch {
 
-    private static final int MAX_SIZE = 2000;
+    public static final int MAX_SIZE = 2000;
 
     @Builder.Default
     private Integer page = 1;
@@ -20,6 +22,12 @@ public class PostSearch {
     @Builder.Default
     private Integer size = 10;
 
+    private String category;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
     public long getOffset() {
         return (long) (max(page, 1) - 1) * min(size, MAX_SIZE);
     }
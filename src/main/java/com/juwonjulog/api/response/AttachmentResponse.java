@@ -0,0 +1,22 @@
+package com.juwonjulog.api.response;
+
+import com.juwonjulog.api.domain.Attachment;
+import lombok.Getter;
+
+@Getter
+public class AttachmentResponse {
+
+    private final Long id;
+    private final String filename;
+    private final String contentType;
+    private final long size;
+    private final String sha256;
+
+    public AttachmentResponse(Attachment attachment) {
+        this.id = attachment.getId();
+        this.filename = attachment.getFilename();
+        this.contentType = attachment.getContentType();
+        this.size = attachment.getSize();
+        this.sha256 = attachment.getSha256();
+    }
+}
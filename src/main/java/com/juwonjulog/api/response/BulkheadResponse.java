@@ -0,0 +1,35 @@
+package com.juwonjulog.api.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * bulkhead 포화 상태. queued 가 queueCapacity 에 가깝거나 rejected/timedOut 이 늘고 있으면 그 종류의 요청이 밀리고 있는 것이다.
+ */
+@Getter
+public class BulkheadResponse {
+
+    private final String name;
+    private final int threads;
+    private final int activeThreads;
+    private final int queued;
+    private final int queueCapacity;
+    private final long completed;
+    private final long rejected;
+    private final long timedOut;
+    private final long timeoutMillis;
+
+    @Builder
+    public BulkheadResponse(String name, int threads, int activeThreads, int queued, int queueCapacity,
+                            long completed, long rejected, long timedOut, long timeoutMillis) {
+        this.name = name;
+        this.threads = threads;
+        this.activeThreads = activeThreads;
+        this.queued = queued;
+        this.queueCapacity = queueCapacity;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.timedOut = timedOut;
+        this.timeoutMillis = timeoutMillis;
+    }
+}
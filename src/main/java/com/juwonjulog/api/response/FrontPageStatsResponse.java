@@ -0,0 +1,31 @@
+package com.juwonjulog.api.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 첫 페이지 스냅샷의 크기와 다시 만드는 데 든 시간.
+ */
+@Getter
+public class FrontPageStatsResponse {
+
+    private final int capacity;
+    private final int posts;
+    private final Instant builtAt;
+    private final long rebuilds;
+    private final long lastRebuildMicros;
+    private final long maxRebuildMicros;
+
+    @Builder
+    public FrontPageStatsResponse(int capacity, int posts, Instant builtAt, long rebuilds,
+                                  long lastRebuildMicros, long maxRebuildMicros) {
+        this.capacity = capacity;
+        this.posts = posts;
+        this.builtAt = builtAt;
+        this.rebuilds = rebuilds;
+        this.lastRebuildMicros = lastRebuildMicros;
+        this.maxRebuildMicros = maxRebuildMicros;
+    }
+}
@@ -0,0 +1,20 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+/**
+ * 인기 게시글 순위 항목. views 는 추정 조회수로 실제 조회수 이상이며, views - maxError 는 실제 조회수 이하다.
+ */
+@Getter
+public class PopularPostResponse {
+
+    private final Long postId;
+    private final long views;
+    private final long maxError;
+
+    public PopularPostResponse(Long postId, long views, long maxError) {
+        this.postId = postId;
+        this.views = views;
+        this.maxError = maxError;
+    }
+}
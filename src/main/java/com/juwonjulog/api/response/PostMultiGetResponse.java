@@ -0,0 +1,17 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostMultiGetResponse {
+
+    private final List<PostResponse> posts;
+    private final List<Long> missingIds;
+
+    public PostMultiGetResponse(List<PostResponse> posts, List<Long> missingIds) {
+        this.posts = posts;
+        this.missingIds = missingIds;
+    }
+}
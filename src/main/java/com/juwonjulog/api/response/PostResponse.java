@@ -4,23 +4,38 @@ import com.juwonjulog.api.domain.Post;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class PostResponse {
 
     private final Long id;
     private final String title;
     private final String content;
+    private final String contentHtml;
+    private final String category;
+    private final LocalDateTime createdAt;
+    private final Long views;
 
     public PostResponse(Post post) {
         this.id = post.getId();
         this.title = post.getTitle();
         this.content = post.getContent();
+        this.contentHtml = post.getContentHtml();
+        this.category = post.getCategory();
+        this.createdAt = post.getCreatedAt();
+        this.views = post.getViews();
     }
 
     @Builder
-    public PostResponse(Long id, String title, String content) {
+    public PostResponse(Long id, String title, String content, String contentHtml, String category,
+                        LocalDateTime createdAt, Long views) {
         this.id = id;
         this.title = title.substring(0, Math.min(title.length(), 10));
         this.content = content;
+        this.contentHtml = contentHtml;
+        this.category = category;
+        this.createdAt = createdAt;
+        this.views = views;
     }
 }
@@ -0,0 +1,21 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class PostRevisionDetailResponse {
+
+    private final Integer rev;
+    private final String title;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    public PostRevisionDetailResponse(Integer rev, String title, String content, LocalDateTime createdAt) {
+        this.rev = rev;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+}
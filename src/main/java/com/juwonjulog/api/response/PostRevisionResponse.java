@@ -0,0 +1,29 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리비전 목록의 한 줄. storedBytes 는 이 리비전이 실제로 차지하는 크기(keyframe 이면 본문 전체, 아니면 delta)다.
+ */
+@Getter
+public class PostRevisionResponse {
+
+    private final Integer rev;
+    private final String title;
+    private final Boolean keyframe;
+    private final Long contentBytes;
+    private final Integer storedBytes;
+    private final LocalDateTime createdAt;
+
+    public PostRevisionResponse(Integer rev, String title, Boolean keyframe, Long contentBytes, Integer storedBytes,
+                                LocalDateTime createdAt) {
+        this.rev = rev;
+        this.title = title;
+        this.keyframe = keyframe;
+        this.contentBytes = contentBytes;
+        this.storedBytes = storedBytes;
+        this.createdAt = createdAt;
+    }
+}
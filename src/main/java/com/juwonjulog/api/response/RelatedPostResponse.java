@@ -0,0 +1,15 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+@Getter
+public class RelatedPostResponse {
+
+    private final Long postId;
+    private final double similarity;
+
+    public RelatedPostResponse(Long postId, double similarity) {
+        this.postId = postId;
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,19 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+public class SlowRequestCaptureResponse {
+
+    private final String name;
+    private final long size;
+    private final Instant capturedAt;
+
+    public SlowRequestCaptureResponse(String name, long size, Instant capturedAt) {
+        this.name = name;
+        this.size = size;
+        this.capturedAt = capturedAt;
+    }
+}
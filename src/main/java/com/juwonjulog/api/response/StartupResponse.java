@@ -0,0 +1,30 @@
+package com.juwonjulog.api.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * JVM 시작부터 준비 완료, 첫 요청 응답까지 걸린 시간과 기동 단계별 기록.
+ * recording 이 false 면 BufferingApplicationStartup 없이 떠서 단계 기록이 비어 있다.
+ */
+@Getter
+public class StartupResponse {
+
+    private final boolean recording;
+    private final Long readyMillis;
+    private final Long firstRequestMillis;
+    private final List<StartupStepResponse> phases;
+    private final List<StartupStepResponse> slowestBeans;
+
+    @Builder
+    public StartupResponse(boolean recording, Long readyMillis, Long firstRequestMillis,
+                           List<StartupStepResponse> phases, List<StartupStepResponse> slowestBeans) {
+        this.recording = recording;
+        this.readyMillis = readyMillis;
+        this.firstRequestMillis = firstRequestMillis;
+        this.phases = phases;
+        this.slowestBeans = slowestBeans;
+    }
+}
@@ -0,0 +1,20 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+/**
+ * 기동 중 기록된 한 단계. detail 은 빈 생성이면 빈 이름, 그 외에는 단계에 붙은 태그다.
+ */
+@Getter
+public class StartupStepResponse {
+
+    private final String name;
+    private final String detail;
+    private final long durationMillis;
+
+    public StartupStepResponse(String name, String detail, long durationMillis) {
+        this.name = name;
+        this.detail = detail;
+        this.durationMillis = durationMillis;
+    }
+}
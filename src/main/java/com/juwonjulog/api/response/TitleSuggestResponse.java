@@ -0,0 +1,15 @@
+package com.juwonjulog.api.response;
+
+import lombok.Getter;
+
+@Getter
+public class TitleSuggestResponse {
+
+    private final Long id;
+    private final String title;
+
+    public TitleSuggestResponse(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+}
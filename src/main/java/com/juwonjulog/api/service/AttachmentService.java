@@ -0,0 +1,151 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Attachment;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.exception.AttachmentNotFound;
+import com.juwonjulog.api.exception.InvalidRequest;
+import com.juwonjulog.api.exception.PostNotFound;
+import com.juwonjulog.api.repository.AttachmentRepository;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.response.AttachmentResponse;
+import com.juwonjulog.api.shard.PostShard;
+import com.juwonjulog.api.shard.PostShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttachmentService {
+
+    private static final int HASH_LOCKS = 64;
+
+    private final PostRepository postRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final PostShards postShards;
+
+    /**
+     * 해시별 lock. 같은 해시는 항상 같은 lock 을 쓰고, 다른 해시끼리 겹치는 건 잠깐 기다리는 것뿐이다.
+     */
+    private final Object[] hashLocks = IntStream.range(0, HASH_LOCKS)
+            .mapToObj(i -> new Object())
+            .toArray();
+
+    @PostShard
+    public AttachmentResponse upload(Long postId, MultipartFile file) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(PostNotFound::new);
+
+        if (file.isEmpty()) {
+            throw new InvalidRequest("file", "첨부할 파일을 선택해주세요.");
+        }
+
+        try (InputStream in = file.getInputStream();
+             AttachmentStorage.TempFile temp = attachmentStorage.receive(in)) {
+            // 파일을 옮기고(또는 있던 파일을 쓰기로 하고) row 가 커밋될 때까지, 같은 해시의 파일을 지우지 못하게 한다.
+            synchronized (lockFor(temp.getSha256())) {
+                AttachmentStorage.StoredFile stored = attachmentStorage.store(temp);
+                Attachment attachment = attachmentRepository.save(Attachment.builder()
+                        .post(post)
+                        .filename(file.getOriginalFilename())
+                        .contentType(file.getContentType())
+                        .size(stored.getSize())
+                        .sha256(stored.getSha256())
+                        .build());
+                return new AttachmentResponse(attachment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PostShard
+    public List<AttachmentResponse> getList(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new PostNotFound();
+        }
+        return attachmentRepository.findAllByPostIdOrderByIdAsc(postId).stream()
+                .map(AttachmentResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 삭제되어 정리를 기다리는 글의 첨부파일도 없는 것으로 본다.
+     */
+    @PostShard
+    public Attachment get(Long postId, Long attachmentId) {
+        if (!postRepository.existsById(postId)) {
+            throw new AttachmentNotFound();
+        }
+        return attachmentRepository.findByIdAndPostId(attachmentId, postId)
+                .orElseThrow(AttachmentNotFound::new);
+    }
+
+    public Path getPath(Attachment attachment) {
+        return attachmentStorage.path(attachment.getSha256());
+    }
+
+    /**
+     * 게시글들의 첨부파일 행을 지우고, 더 이상 어떤 글도 가리키지 않는 파일은 디스크에서도 지운다.
+     * 해시 조회와 삭제는 글 수와 상관없이 쿼리 한 번씩이다.
+     * 트랜잭션 안에서 부르면 파일은 커밋된 뒤에 지운다. 롤백되면 row 가 그대로 남으므로 파일도 남겨야 한다.
+     */
+    public void deleteAll(Collection<Long> postIds) {
+        Set<String> hashes = new LinkedHashSet<>(attachmentRepository.getSha256ByPostIdIn(postIds));
+        if (hashes.isEmpty()) {
+            return;
+        }
+
+        attachmentRepository.deleteAllByPostIdIn(postIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteUnreferencedFiles(hashes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteUnreferencedFiles(hashes);
+            }
+        });
+    }
+
+    /**
+     * 확인과 삭제 사이에 같은 파일이 업로드되어 row 가 생기면 안 되므로, upload 와 같은 해시별 lock 안에서 한다.
+     * 파일은 shard 와 상관없이 해시 하나에 하나뿐이므로, 모든 shard 에 그 해시를 가리키는 row 가 없을 때만 지운다.
+     */
+    private void deleteUnreferencedFiles(Set<String> hashes) {
+        for (String sha256 : hashes) {
+            synchronized (lockFor(sha256)) {
+                if (postShards.onEach(shard -> attachmentRepository.existsBySha256(sha256)).contains(true)) {
+                    continue;
+                }
+                try {
+                    attachmentStorage.delete(sha256);
+                } catch (IOException e) {
+                    log.warn("failed to delete attachment file {}", sha256, e);
+                }
+            }
+        }
+    }
+
+    private Object lockFor(String sha256) {
+        return hashLocks[Math.floorMod(sha256.hashCode(), hashLocks.length)];
+    }
+}
@@ -0,0 +1,152 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.config.AttachmentProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 첨부파일을 내용 주소(SHA-256)로 저장한다.
+ *
+ * <p>받는 스트림을 고정 크기 버퍼로 읽으면서 해시를 계산하고 바로 FileChannel 로 임시 파일에 쓴다.
+ * 파일 크기와 상관없이 요청당 버퍼 하나만 힙에 올라간다. 다 쓰고 나면 해시 이름으로 옮기고,
+ * 같은 해시의 파일이 이미 있으면 임시 파일을 지워서 중복 저장하지 않는다.
+ * 받기(receive)와 옮기기(store)를 나눠서, 해시를 안 뒤에 AttachmentService 가 해시별 lock 을 잡고 옮기게 한다.</p>
+ */
+@Component
+public class AttachmentStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path dir;
+
+    public AttachmentStorage(AttachmentProperties properties) {
+        this.dir = properties.getDir();
+    }
+
+    /**
+     * 받은 내용을 임시 파일에 쓰면서 해시를 계산한다. 해시 이름으로 옮기는 건 store 에서 한다.
+     */
+    public TempFile receive(InputStream in) throws IOException {
+        Path tempDir = dir.resolve("tmp");
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+
+        try {
+            MessageDigest digest = sha256();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long size = 0L;
+
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    size += buffer.limit();
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(false);
+            }
+
+            return new TempFile(temp, hex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * 임시 파일을 해시 이름으로 옮긴다. 같은 해시의 파일이 이미 있으면 옮기지 않고 그 파일을 쓴다.
+     * 지우기와 겹치면 있던 파일이 사라질 수 있으므로, 호출하는 쪽에서 같은 해시의 delete 와 겹치지 않게 한다.
+     */
+    public StoredFile store(TempFile temp) throws IOException {
+        Path path = path(temp.getSha256());
+        if (Files.exists(path)) {
+            return new StoredFile(temp.getSha256(), temp.getSize(), true);
+        }
+
+        Files.createDirectories(path.getParent());
+        Files.move(temp.path, path, StandardCopyOption.ATOMIC_MOVE);
+        return new StoredFile(temp.getSha256(), temp.getSize(), false);
+    }
+
+    public Path path(String sha256) {
+        return dir.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(path(sha256));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * receive 로 받은 임시 파일. store 로 옮기지 않았으면 close 할 때 지운다.
+     */
+    @Getter
+    public static class TempFile implements Closeable {
+
+        @Getter(AccessLevel.NONE)
+        private final Path path;
+        private final String sha256;
+        private final long size;
+
+        private TempFile(Path path, String sha256, long size) {
+            this.path = path;
+            this.sha256 = sha256;
+            this.size = size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Getter
+    public static class StoredFile {
+
+        private final String sha256;
+        private final long size;
+        private final boolean deduplicated;
+
+        public StoredFile(String sha256, long size, boolean deduplicated) {
+            this.sha256 = sha256;
+            this.size = size;
+            this.deduplicated = deduplicated;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.juwonjulog.api.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 이전 버전(source) 바이트로 다음 버전(target)을 만드는 delta 를 만들고 적용한다.
+ *
+ * <p>source 를 BLOCK 바이트 간격으로 해시해 두고, target 의 모든 위치에서 같은 블록을 찾으면 앞뒤로 늘려서 복사 명령으로 바꾼다.
+ * 블록 단위로만 찾으므로 아주 짧은 중복은 놓치지만, 글 수정처럼 대부분이 그대로인 경우에는 수정한 부분만큼만 남는다.</p>
+ *
+ * <p>형식은 target 길이(varint) 뒤에 명령이 이어진다. 명령은 varint (length &lt;&lt; 1) 뒤에 source offset(varint) 이면 복사,
+ * varint (length &lt;&lt; 1 | 1) 뒤에 length 바이트면 그대로 넣기다.</p>
+ */
+public final class BinaryDelta {
+
+    private static final int BLOCK = 16;
+
+    private BinaryDelta() {
+    }
+
+    public static byte[] encode(byte[] source, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(target.length, 1024) + 16);
+        writeVarint(out, target.length);
+
+        int blocks = source.length / BLOCK;
+        int[] table = new int[Integer.highestOneBit(Math.max(blocks, 1) * 2 - 1) << 1];
+        int mask = table.length - 1;
+        Arrays.fill(table, -1);
+        for (int offset = 0; offset + BLOCK <= source.length; offset += BLOCK) {
+            table[hash(source, offset) & mask] = offset;
+        }
+
+        int literalStart = 0;
+        int position = 0;
+        // 마지막 복사의 target - source 위치 차이. 수정 사이의 긴 구간은 이 차이 그대로 이어지므로 해시보다 먼저 본다.
+        int shift = 0;
+        while (position + BLOCK <= target.length) {
+            int candidate = position - shift;
+            if (candidate < 0 || candidate + BLOCK > source.length || !matches(source, candidate, target, position)) {
+                candidate = blocks > 0 ? table[hash(target, position) & mask] : -1;
+                if (candidate < 0 || !matches(source, candidate, target, position)) {
+                    position++;
+                    continue;
+                }
+            }
+
+            int sourceStart = candidate;
+            int targetStart = position;
+            while (sourceStart > 0 && targetStart > literalStart && source[sourceStart - 1] == target[targetStart - 1]) {
+                sourceStart--;
+                targetStart--;
+            }
+            int sourceEnd = candidate + BLOCK;
+            int targetEnd = position + BLOCK;
+            while (sourceEnd < source.length && targetEnd < target.length && source[sourceEnd] == target[targetEnd]) {
+                sourceEnd++;
+                targetEnd++;
+            }
+
+            writeLiteral(out, target, literalStart, targetStart);
+            writeVarint(out, (long) (targetEnd - targetStart) << 1);
+            writeVarint(out, sourceStart);
+            position = targetEnd;
+            literalStart = targetEnd;
+            shift = targetEnd - sourceEnd;
+        }
+        writeLiteral(out, target, literalStart, target.length);
+
+        return out.toByteArray();
+    }
+
+    public static byte[] apply(byte[] source, byte[] delta) {
+        int[] cursor = {0};
+        byte[] target = new byte[(int) readVarint(delta, cursor)];
+        int position = 0;
+
+        try {
+            while (cursor[0] < delta.length) {
+                long command = readVarint(delta, cursor);
+                int length = (int) (command >>> 1);
+                if ((command & 1) == 0) {
+                    int offset = (int) readVarint(delta, cursor);
+                    System.arraycopy(source, offset, target, position, length);
+                } else {
+                    System.arraycopy(delta, cursor[0], target, position, length);
+                    cursor[0] += length;
+                }
+                position += length;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalStateException("corrupted delta", e);
+        }
+
+        if (position != target.length) {
+            throw new IllegalStateException("corrupted delta: expected " + target.length + " bytes, got " + position);
+        }
+        return target;
+    }
+
+    private static void writeLiteral(ByteArrayOutputStream out, byte[] target, int from, int to) {
+        if (from < to) {
+            writeVarint(out, (long) (to - from) << 1 | 1);
+            out.write(target, from, to - from);
+        }
+    }
+
+    private static boolean matches(byte[] source, int sourceOffset, byte[] target, int targetOffset) {
+        return Arrays.equals(source, sourceOffset, sourceOffset + BLOCK, target, targetOffset, targetOffset + BLOCK);
+    }
+
+    private static int hash(byte[] bytes, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK; i++) {
+            hash = hash * 31 + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] bytes, int[] cursor) {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (cursor[0] >= bytes.length) {
+                throw new IllegalStateException("corrupted delta: truncated varint");
+            }
+            byte b = bytes[cursor[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("corrupted delta: varint too long");
+    }
+}
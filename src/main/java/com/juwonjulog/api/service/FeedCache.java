@@ -0,0 +1,257 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.domain.PostChangedEvent;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostSearch;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 최신 글 size 개의 Atom 피드를 바이트 배열로 미리 만들어둔다.
+ *
+ * <p>글마다 &lt;entry&gt; 조각을 따로 렌더링해서 들고 있다가, 글이 바뀌면 그 글의 조각만 다시 만들고
+ * 조각들을 이어 붙여 새 피드로 바꿔 끼운다. 요청은 만들어진 바이트 배열과 ETag/Last-Modified 를 그대로 쓴다.</p>
+ */
+@Component
+public class FeedCache {
+
+    private static final DateTimeFormatter RFC_3339 = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    private final PostRepository postRepository;
+    private final String siteUrl;
+    private final int size;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * id 내림차순(최신 글 먼저)으로 렌더링된 entry 조각.
+     */
+    private final TreeMap<Long, Entry> entries = new TreeMap<>(Comparator.reverseOrder());
+
+    private volatile Feed feed;
+
+    public FeedCache(PostRepository postRepository,
+                     @Value("${juwonjulog.feed.site-url:http://localhost:8080}") String siteUrl,
+                     @Value("${juwonjulog.feed.size:20}") int size) {
+        this.postRepository = postRepository;
+        this.siteUrl = siteUrl.endsWith("/") ? siteUrl.substring(0, siteUrl.length() - 1) : siteUrl;
+        this.size = size;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        entries.clear();
+        fill();
+        publish();
+    }
+
+    public Feed getFeed() {
+        Feed current = feed;
+        if (current == null) {
+            rebuild();
+            current = feed;
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void on(PostChangedEvent event) {
+        if (feed == null) {
+            return;
+        }
+
+        Long postId = event.getPostId();
+        switch (event.getType()) {
+            case CREATED:
+            case EDITED:
+                if (!entries.containsKey(postId) && entries.size() >= size && postId < entries.lastKey()) {
+                    return;
+                }
+                postRepository.findById(postId).ifPresent(post -> {
+                    Instant updated = event.getType() == PostChangedEvent.Type.EDITED
+                            ? Instant.now()
+                            : post.getCreatedAt().atZone(zone).toInstant();
+                    entries.put(postId, render(post, updated));
+                });
+                while (entries.size() > size) {
+                    entries.pollLastEntry();
+                }
+                break;
+            case RERENDERED:
+                // 피드에 있는 글이면 HTML 만 바꾸고 updated 는 그대로 둔다.
+                Entry entry = entries.get(postId);
+                if (entry == null) {
+                    return;
+                }
+                postRepository.findById(postId).ifPresent(post -> entries.put(postId, render(post, entry.updated)));
+                break;
+            case DELETED:
+                if (entries.remove(postId) == null) {
+                    return;
+                }
+                fill();
+                break;
+        }
+        publish();
+    }
+
+    /**
+     * 최신 글 목록에서 아직 조각이 없는 글만 렌더링해서 채운다.
+     */
+    private void fill() {
+        List<Post> posts = postRepository.getList(PostSearch.builder()
+                .page(1)
+                .size(size)
+                .build());
+        for (Post post : posts) {
+            if (!entries.containsKey(post.getId())) {
+                entries.put(post.getId(), render(post, post.getCreatedAt().atZone(zone).toInstant()));
+            }
+        }
+        while (entries.size() > size) {
+            entries.pollLastEntry();
+        }
+    }
+
+    private void publish() {
+        Instant updated = entries.values().stream()
+                .map(Entry::getUpdated)
+                .max(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024 + entries.size() * 1024);
+        write(body, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<feed xmlns=\"http://www.w3.org/2005/Atom\">\n"
+                + "  <title>juwonjulog</title>\n"
+                + "  <id>" + escape(siteUrl) + "/</id>\n"
+                + "  <link href=\"" + escape(siteUrl) + "/\"/>\n"
+                + "  <link rel=\"self\" href=\"" + escape(siteUrl) + "/feed.xml\"/>\n"
+                + "  <updated>" + format(updated) + "</updated>\n");
+        for (Map.Entry<Long, Entry> entry : entries.entrySet()) {
+            body.writeBytes(entry.getValue().getXml());
+        }
+        write(body, "</feed>\n");
+
+        byte[] bytes = body.toByteArray();
+        // Last-Modified 는 초 단위라서, 같은 초 안에 바뀌어도 ETag 로 구분된다.
+        feed = new Feed(bytes, "\"" + sha256(bytes) + "\"", Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private Entry render(Post post, Instant updated) {
+        String link = siteUrl + "/read/" + post.getId();
+        String summary = post.getContentHtml() != null ? post.getContentHtml() : post.getContent();
+
+        StringBuilder xml = new StringBuilder(256 + (summary != null ? summary.length() : 0));
+        xml.append("  <entry>\n")
+                .append("    <title>").append(escape(post.getTitle())).append("</title>\n")
+                .append("    <id>").append(escape(link)).append("</id>\n")
+                .append("    <link href=\"").append(escape(link)).append("\"/>\n")
+                .append("    <published>").append(format(post.getCreatedAt().atZone(zone).toInstant())).append("</published>\n")
+                .append("    <updated>").append(format(updated)).append("</updated>\n");
+        if (post.getCategory() != null) {
+            xml.append("    <category term=\"").append(escape(post.getCategory())).append("\"/>\n");
+        }
+        if (summary != null) {
+            xml.append("    <content type=\"html\">").append(escape(summary)).append("</content>\n");
+        }
+        xml.append("  </entry>\n");
+
+        return new Entry(xml.toString().getBytes(StandardCharsets.UTF_8), updated);
+    }
+
+    private static String format(Instant instant) {
+        return RFC_3339.format(instant.truncatedTo(ChronoUnit.SECONDS).atOffset(ZoneOffset.UTC));
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    // XML 1.0 에서 허용되지 않는 제어 문자는 버린다.
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    private static class Entry {
+
+        private final byte[] xml;
+        private final Instant updated;
+
+        private Entry(byte[] xml, Instant updated) {
+            this.xml = xml;
+            this.updated = updated;
+        }
+    }
+
+    @Getter
+    public static class Feed {
+
+        private final byte[] body;
+        private final String etag;
+        private final Instant lastModified;
+
+        public Feed(byte[] body, String etag, Instant lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.PostChangedEvent;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.response.FrontPageStatsResponse;
+import com.juwonjulog.api.response.PostResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 첫 pages 페이지(페이지당 pageSize 개)의 목록 응답을 불변 리스트로 만들어두고, 글이 바뀌면 새로 만들어 통째로 바꿔 끼운다.
+ *
+ * <p>읽는 쪽은 volatile 필드 하나만 읽으므로 lock 이 없다. 필터가 있거나 캐시 범위를 넘는 페이지는 empty 를 돌려주고
+ * 호출한 쪽이 DB에서 읽는다. 한 트랜잭션에서 여러 글이 바뀌어도 커밋 후 한 번만 다시 만든다.
+ * HTML 만 다시 렌더링된 글(RERENDERED)은 지금 캐시에 있는 글일 때만 다시 만든다.</p>
+ */
+@Component
+public class FrontPageCache {
+
+    private final PostRepository postRepository;
+    private final int capacity;
+    private final Object transactionKey = new Object();
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile long lastRebuildNanos;
+    private volatile long maxRebuildNanos;
+
+    public FrontPageCache(PostRepository postRepository,
+                          @Value("${juwonjulog.front-page.pages:3}") int pages,
+                          @Value("${juwonjulog.front-page.page-size:5}") int pageSize) {
+        this.postRepository = postRepository;
+        this.capacity = pages * pageSize;
+    }
+
+    public Optional<List<PostResponse>> get(PostSearch postSearch) {
+        Snapshot current = snapshot;
+        if (current == null
+                || postSearch.getPage() == null
+                || postSearch.getSize() == null
+                || postSearch.getSize() <= 0
+                || postSearch.getCategory() != null
+                || postSearch.getStartDate() != null
+                || postSearch.getEndDate() != null) {
+            return Optional.empty();
+        }
+
+        List<PostResponse> posts = current.posts;
+        long from = postSearch.getOffset();
+        long to = from + Math.min(postSearch.getSize(), PostSearch.MAX_SIZE);
+        if (to <= posts.size()) {
+            return Optional.of(posts.subList((int) from, (int) to));
+        }
+        if (current.complete) {
+            // 전체 글이 capacity 보다 적으면 스냅샷이 곧 전체 목록이다.
+            return Optional.of(posts.subList((int) Math.min(from, posts.size()), posts.size()));
+        }
+        return Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        List<PostResponse> posts = postRepository.getList(PostSearch.builder()
+                        .page(1)
+                        .size(capacity)
+                        .build())
+                .stream()
+                .map(PostResponse::new)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+
+        snapshot = new Snapshot(posts, posts.size() < capacity, Instant.now());
+
+        long elapsed = System.nanoTime() - started;
+        rebuilds.increment();
+        lastRebuildNanos = elapsed;
+        maxRebuildNanos = Math.max(maxRebuildNanos, elapsed);
+    }
+
+    @EventListener
+    public void on(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.RERENDERED && !contains(event.getPostId())) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuild();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(transactionKey)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(transactionKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                rebuild();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+            }
+        });
+    }
+
+    private boolean contains(Long postId) {
+        Snapshot current = snapshot;
+        return current != null && current.posts.stream().anyMatch(post -> post.getId().equals(postId));
+    }
+
+    public FrontPageStatsResponse getStats() {
+        Snapshot current = snapshot;
+        return FrontPageStatsResponse.builder()
+                .capacity(capacity)
+                .posts(current != null ? current.posts.size() : 0)
+                .builtAt(current != null ? current.builtAt : null)
+                .rebuilds(rebuilds.sum())
+                .lastRebuildMicros(lastRebuildNanos / 1_000)
+                .maxRebuildMicros(maxRebuildNanos / 1_000)
+                .build();
+    }
+
+    private static class Snapshot {
+
+        private final List<PostResponse> posts;
+        private final boolean complete;
+        private final Instant builtAt;
+
+        private Snapshot(List<PostResponse> posts, boolean complete, Instant builtAt) {
+            this.posts = posts;
+            this.complete = complete;
+            this.builtAt = builtAt;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.juwonjulog.api.service;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한글 음절을 키보드로 치는 순서의 자모열로 풀어쓴다.
+ * "닭" 은 ㄷ ㅏ ㄹ ㄱ 으로, "과" 는 ㄱ ㅗ ㅏ 로 풀어서, 입력 중인 "달" 이나 "고" 도 prefix 로 맞게 한다.
+ */
+final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONGSEONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    private static final Map<Character, String> COMPOUND = new HashMap<>();
+
+    static {
+        String[][] compounds = {
+                {"ㅘ", "ㅗㅏ"}, {"ㅙ", "ㅗㅐ"}, {"ㅚ", "ㅗㅣ"}, {"ㅝ", "ㅜㅓ"}, {"ㅞ", "ㅜㅔ"}, {"ㅟ", "ㅜㅣ"}, {"ㅢ", "ㅡㅣ"},
+                {"ㄳ", "ㄱㅅ"}, {"ㄵ", "ㄴㅈ"}, {"ㄶ", "ㄴㅎ"}, {"ㄺ", "ㄹㄱ"}, {"ㄻ", "ㄹㅁ"}, {"ㄼ", "ㄹㅂ"},
+                {"ㄽ", "ㄹㅅ"}, {"ㄾ", "ㄹㅌ"}, {"ㄿ", "ㄹㅍ"}, {"ㅀ", "ㄹㅎ"}, {"ㅄ", "ㅂㅅ"}
+        };
+        for (String[] compound : compounds) {
+            COMPOUND.put(compound[0].charAt(0), compound[1]);
+        }
+    }
+
+    private HangulJamo() {
+    }
+
+    static String decompose(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase();
+        StringBuilder jamo = new StringBuilder(normalized.length() * 3);
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_BASE;
+                append(jamo, CHOSEONG.charAt(index / (JUNGSEONG_COUNT * JONGSEONG_COUNT)));
+                append(jamo, JUNGSEONG.charAt(index % (JUNGSEONG_COUNT * JONGSEONG_COUNT) / JONGSEONG_COUNT));
+                int jongseong = index % JONGSEONG_COUNT;
+                if (jongseong != 0) {
+                    append(jamo, JONGSEONG.charAt(jongseong));
+                }
+            } else {
+                append(jamo, c);
+            }
+        }
+        return jamo.toString();
+    }
+
+    private static void append(StringBuilder jamo, char c) {
+        String compound = COMPOUND.get(c);
+        if (compound != null) {
+            jamo.append(compound);
+        } else {
+            jamo.append(c);
+        }
+    }
+}
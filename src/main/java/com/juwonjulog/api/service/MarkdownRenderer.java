@@ -0,0 +1,59 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 게시글 content(Markdown)를 HTML로 렌더링한다.
+ * 렌더링은 작성/수정 시점에 한 번만 하고, 결과는 Post.contentHtml 에 저장해서 조회 시 그대로 내려준다.
+ */
+@Component
+public class MarkdownRenderer {
+
+    /**
+     * 렌더링 규칙(파서 옵션, sanitize 정책 등)이 바뀌면 올린다. 버전이 낮은 글은 MarkdownRerenderJob 이 다시 렌더링한다.
+     */
+    public static final int VERSION = 1;
+
+    private final Parser parser = Parser.builder().build();
+
+    private final HtmlRenderer htmlRenderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    public void render(Post post) {
+        String contentHash = hash(post.getContent());
+        if (post.isRendered(contentHash, VERSION)) {
+            return;
+        }
+
+        post.rendered(toHtml(post.getContent()), contentHash, VERSION);
+    }
+
+    public String toHtml(String markdown) {
+        return htmlRenderer.render(parser.parse(markdown));
+    }
+
+    public String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.shard.PostShards;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * MarkdownRenderer.VERSION 이 올라가면, 기동 후 백그라운드에서 이전 버전으로 렌더링된 글만 다시 렌더링한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarkdownRerenderJob {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final PostRepository postRepository;
+    private final MarkdownRenderer markdownRenderer;
+    private final PlatformTransactionManager transactionManager;
+    private final PostShards postShards;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rerenderStale() {
+        long rendered = 0L;
+        for (int shard = 0; shard < postShards.count(); shard++) {
+            rendered += postShards.on(shard, this::rerenderShard);
+        }
+
+        if (rendered > 0) {
+            log.info("re-rendered {} posts to renderer version {}", rendered, MarkdownRenderer.VERSION);
+        }
+    }
+
+    /**
+     * 읽은 글을 같은 트랜잭션에서 고치므로 shard 하나씩 돈다.
+     */
+    private long rerenderShard() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long lastId = 0L;
+        long rendered = 0L;
+        while (true) {
+            long from = lastId;
+            List<Post> posts = transactionTemplate.execute(status -> {
+                List<Post> stale = postRepository.getRenderStale(MarkdownRenderer.VERSION, from, BATCH_SIZE);
+                stale.forEach(markdownRenderer::render);
+                return stale;
+            });
+
+            if (posts == null || posts.isEmpty()) {
+                return rendered;
+            }
+
+            rendered += posts.size();
+            lastId = posts.get(posts.size() - 1).getId();
+        }
+    }
+}
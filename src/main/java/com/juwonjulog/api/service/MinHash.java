@@ -0,0 +1,120 @@
+package com.juwonjulog.api.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 글의 shingle 집합에 대한 MinHash signature 를 만든다. 두 signature 에서 같은 칸의 비율이 두 집합의 Jaccard 유사도 추정치다.
+ *
+ * <p>한국어는 조사/어미가 단어에 붙어서 단어 단위 shingle 로는 "블로그를" 과 "블로그에" 가 완전히 다른 값이 된다.
+ * 그래서 한글이 들어간 단어는 음절 2-gram, 그 외 단어는 문자 3-gram 으로 자르고, 짧은 단어는 통째로 쓴다.</p>
+ */
+public class MinHash {
+
+    private static final int HANGUL_GRAM = 2;
+    private static final int DEFAULT_GRAM = 3;
+
+    private final long[] multipliers;
+    private final long[] increments;
+
+    public MinHash(int numHashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.multipliers = new long[numHashes];
+        this.increments = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    public int getNumHashes() {
+        return multipliers.length;
+    }
+
+    public int[] signature(String text) {
+        return signature(shingles(text));
+    }
+
+    public int[] signature(Set<Integer> shingles) {
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (int shingle : shingles) {
+            for (int i = 0; i < multipliers.length; i++) {
+                int hash = (int) (mix(shingle * multipliers[i] + increments[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+
+    public static double jaccard(Set<Integer> a, Set<Integer> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        int intersection = 0;
+        for (Integer shingle : a) {
+            if (b.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    public static Set<Integer> shingles(String text) {
+        Set<Integer> shingles = new HashSet<>();
+        if (text == null) {
+            return shingles;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            int gram = containsHangul(word) ? HANGUL_GRAM : DEFAULT_GRAM;
+            if (word.length() <= gram) {
+                shingles.add(word.hashCode());
+                continue;
+            }
+            for (int i = 0; i + gram <= word.length(); i++) {
+                shingles.add(word.substring(i, i + gram).hashCode());
+            }
+        }
+        return shingles;
+    }
+
+    private static boolean containsHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.UnicodeScript.of(word.charAt(i)) == Character.UnicodeScript.HANGUL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
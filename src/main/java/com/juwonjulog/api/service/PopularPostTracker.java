@@ -0,0 +1,238 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.exception.InvalidRequest;
+import com.juwonjulog.api.response.PopularPostResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * 최근 1시간 / 1일 인기 게시글 순위를 메모리에서 계산한다.
+ * 1시간은 1분 단위 60칸, 1일은 1시간 단위 24칸의 SpaceSaving 으로 나눠 세고, 조회 시 창 안의 칸만 합친다.
+ *
+ * <p>한 칸은 다시 stripes 개의 SpaceSaving 으로 나누고 조회한 스레드에 따라 하나를 고른다.
+ * SpaceSaving.offer 는 lock 을 잡으므로 조회 요청이 모두 같은 lock 에서 기다리지 않게 하기 위해서다.
+ * 합칠 때 어떤 요약에 없는 글은 그 요약의 가장 작은 count 만큼 조회됐을 수 있으므로 그만큼을 추정치와 오차에 더한다.
+ * 그래서 합친 결과도 views 는 실제 조회수 이상, views - maxError 는 실제 조회수 이하이고,
+ * 오차의 합은 창 안의 전체 조회수 / capacity 를 넘지 않는다.</p>
+ *
+ * <p>메모리는 최대 (60 + 24) * stripes * capacity 개의 카운터로 글 수와 상관없다. 요약은 처음 쓸 때 만든다.</p>
+ */
+@Component
+public class PopularPostTracker {
+
+    private static final Duration RANKING_TTL = Duration.ofSeconds(1);
+
+    private final int capacity;
+    private final int stripes;
+    private final Clock clock;
+    private final Map<Window, BucketRing> rings = new HashMap<>();
+    private final Map<Window, Ranking> rankings = new HashMap<>();
+
+    /**
+     * 삭제된 글과 삭제 시각. 가장 긴 창이 지나면 요약에서도 빠지므로 그때 지운다.
+     */
+    private final Map<Long, Long> deleted = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PopularPostTracker(@Value("${juwonjulog.popular.capacity:1000}") int capacity,
+                              @Value("${juwonjulog.popular.stripes:0}") int stripes) {
+        this(capacity, stripes > 0 ? stripes : defaultStripes(), Clock.systemUTC());
+    }
+
+    PopularPostTracker(int capacity, int stripes, Clock clock) {
+        this.capacity = capacity;
+        this.stripes = stripes;
+        this.clock = clock;
+        for (Window window : Window.values()) {
+            rings.put(window, new BucketRing(window.buckets, window.bucketMillis));
+        }
+    }
+
+    public void record(Long postId) {
+        long now = clock.millis();
+        int stripe = (int) (Thread.currentThread().getId() % stripes);
+        for (BucketRing ring : rings.values()) {
+            ring.current(now, stripe).offer(postId, 1L);
+        }
+    }
+
+    /**
+     * 삭제된 글을 순위에서 뺀다. 요약의 카운터를 지우면 다른 글의 오차 범위가 깨지므로, 카운터는 두고 순위를 만들 때 거른다.
+     */
+    public void remove(Long postId) {
+        deleted.put(postId, clock.millis());
+        synchronized (rankings) {
+            rankings.clear();
+        }
+    }
+
+    public List<PopularPostResponse> getPopular(String window, int size) {
+        return getRanking(Window.of(window)).stream()
+                .limit(Math.max(size, 0))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 같은 창의 순위는 RANKING_TTL 동안 다시 계산하지 않고 그대로 돌려준다.
+     */
+    private List<PopularPostResponse> getRanking(Window window) {
+        long now = clock.millis();
+        Ranking ranking;
+        synchronized (rankings) {
+            ranking = rankings.get(window);
+        }
+        if (ranking != null && now - ranking.computedAt < RANKING_TTL.toMillis()) {
+            return ranking.posts;
+        }
+
+        long retention = Window.DAY.buckets * Window.DAY.bucketMillis;
+        deleted.values().removeIf(deletedAt -> now - deletedAt > retention);
+
+        Ranking computed = new Ranking(now, rings.get(window).merge(now));
+        synchronized (rankings) {
+            rankings.put(window, computed);
+        }
+        return computed.posts;
+    }
+
+    private static int defaultStripes() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    }
+
+    private static class Ranking {
+
+        private final long computedAt;
+        private final List<PopularPostResponse> posts;
+
+        private Ranking(long computedAt, List<PopularPostResponse> posts) {
+            this.computedAt = computedAt;
+            this.posts = posts;
+        }
+    }
+
+    private class BucketRing {
+
+        private final int size;
+        private final long bucketMillis;
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        private BucketRing(int size, long bucketMillis) {
+            this.size = size;
+            this.bucketMillis = bucketMillis;
+            this.buckets = new AtomicReferenceArray<>(size);
+        }
+
+        private SpaceSaving current(long now, int stripe) {
+            long epoch = now / bucketMillis;
+            int slot = (int) (epoch % size);
+
+            Bucket bucket = buckets.get(slot);
+            while (bucket == null || bucket.epoch < epoch) {
+                Bucket fresh = new Bucket(epoch, stripes);
+                if (buckets.compareAndSet(slot, bucket, fresh)) {
+                    bucket = fresh;
+                    break;
+                }
+                bucket = buckets.get(slot);
+            }
+            return bucket.summary(stripe, capacity);
+        }
+
+        private List<PopularPostResponse> merge(long now) {
+            long currentEpoch = now / bucketMillis;
+            // 글마다 [count 합, error 합, 이 글이 있던 요약들의 absentMax 합]
+            Map<Long, long[]> merged = new HashMap<>();
+            long absentTotal = 0L;
+
+            for (int slot = 0; slot < size; slot++) {
+                Bucket bucket = buckets.get(slot);
+                if (bucket == null || bucket.epoch <= currentEpoch - size) {
+                    continue;
+                }
+                for (int stripe = 0; stripe < stripes; stripe++) {
+                    SpaceSaving summary = bucket.summaries.get(stripe);
+                    if (summary == null) {
+                        continue;
+                    }
+                    SpaceSaving.Snapshot snapshot = summary.snapshot();
+                    absentTotal += snapshot.getAbsentMax();
+                    for (SpaceSaving.Counter counter : snapshot.getCounters()) {
+                        long[] estimate = merged.computeIfAbsent(counter.getItem(), item -> new long[3]);
+                        estimate[0] += counter.getCount();
+                        estimate[1] += counter.getError();
+                        estimate[2] += snapshot.getAbsentMax();
+                    }
+                }
+            }
+
+            List<PopularPostResponse> posts = new ArrayList<>(merged.size());
+            long absent = absentTotal;
+            merged.forEach((postId, estimate) -> {
+                if (!deleted.containsKey(postId)) {
+                    long missing = absent - estimate[2];
+                    posts.add(new PopularPostResponse(postId, estimate[0] + missing, estimate[1] + missing));
+                }
+            });
+            posts.sort(Comparator.comparingLong(PopularPostResponse::getViews).reversed()
+                    .thenComparing(PopularPostResponse::getPostId, Comparator.reverseOrder()));
+            return List.copyOf(posts);
+        }
+    }
+
+    private static class Bucket {
+
+        private final long epoch;
+        private final AtomicReferenceArray<SpaceSaving> summaries;
+
+        private Bucket(long epoch, int stripes) {
+            this.epoch = epoch;
+            this.summaries = new AtomicReferenceArray<>(stripes);
+        }
+
+        private SpaceSaving summary(int stripe, int capacity) {
+            SpaceSaving summary = summaries.get(stripe);
+            if (summary == null) {
+                summaries.compareAndSet(stripe, null, new SpaceSaving(capacity));
+                summary = summaries.get(stripe);
+            }
+            return summary;
+        }
+    }
+
+    enum Window {
+
+        HOUR("1h", 60, Duration.ofMinutes(1)),
+        DAY("1d", 24, Duration.ofHours(1));
+
+        private final String key;
+        private final int buckets;
+        private final long bucketMillis;
+
+        Window(String key, int buckets, Duration bucketSize) {
+            this.key = key;
+            this.buckets = buckets;
+            this.bucketMillis = bucketSize.toMillis();
+        }
+
+        static Window of(String key) {
+            for (Window window : values()) {
+                if (window.key.equals(key)) {
+                    return window;
+                }
+            }
+            throw new InvalidRequest("window", "조회 기간은 1h 또는 1d 만 가능합니다.");
+        }
+    }
+}
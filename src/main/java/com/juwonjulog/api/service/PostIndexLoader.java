@@ -0,0 +1,94 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.domain.PostChangedEvent;
+import com.juwonjulog.api.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 메모리 인덱스(RelatedPostIndex, TitleSuggestIndex)를 DB 에 커밋된 게시글과 맞춘다.
+ * 기동 후에는 DB의 게시글을 id 순으로 나눠 읽어서 다시 만들고, 그 뒤로는 커밋된 PostChangedEvent 마다 한 건씩 고친다.
+ *
+ * <p>배치 하나를 읽고 넣는 동안과 이벤트 하나를 처리하는 동안 같은 lock 을 잡는다.
+ * 배치를 읽은 뒤에 커밋된 수정/삭제는 배치가 끝난 뒤에 반영되므로, 기동 중에 읽은 옛 내용이 새 내용을 덮어쓰지 않는다.
+ * 이미 인덱스에 있는 글은 이벤트로 들어온 것이니 배치에서는 건너뛴다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostIndexLoader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final RelatedPostIndex relatedPostIndex;
+    private final TitleSuggestIndex titleSuggestIndex;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        long lastId = 0L;
+        long loaded = 0L;
+
+        while (true) {
+            List<Post> posts = loadBatch(lastId);
+            if (posts.isEmpty()) {
+                break;
+            }
+
+            loaded += posts.size();
+            lastId = posts.get(posts.size() - 1).getId();
+        }
+
+        log.info("indexed {} posts in {}ms", loaded, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 트랜잭션 안에서 바뀐 글은 커밋된 뒤에만 인덱스에 넣는다. 롤백되면 인덱스도 그대로다.
+     * 이벤트에는 id 만 있으므로 커밋된 내용을 다시 읽는다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void on(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.RERENDERED) {
+            // 인덱스는 제목과 본문만 쓴다.
+            return;
+        }
+        Long postId = event.getPostId();
+        Optional<Post> post = event.getType() == PostChangedEvent.Type.DELETED
+                ? Optional.empty()
+                : postRepository.findById(postId);
+
+        if (post.isPresent()) {
+            index(post.get());
+        } else {
+            relatedPostIndex.remove(postId);
+            titleSuggestIndex.remove(postId);
+        }
+    }
+
+    private synchronized List<Post> loadBatch(long lastId) {
+        List<Post> posts = postRepository.getAllAfter(lastId, BATCH_SIZE);
+        for (Post post : posts) {
+            if (!relatedPostIndex.contains(post.getId()) || !titleSuggestIndex.contains(post.getId())) {
+                index(post);
+            }
+        }
+        return posts;
+    }
+
+    private void index(Post post) {
+        relatedPostIndex.index(post.getId(), PostService.indexText(post));
+        titleSuggestIndex.index(post.getId(), post.getTitle());
+    }
+}
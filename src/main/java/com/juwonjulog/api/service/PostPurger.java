@@ -0,0 +1,113 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.config.PurgeProperties;
+import com.juwonjulog.api.shard.PostShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 삭제 시각이 채워진 글을 batch 단위로 나눠서 실제로 지운다.
+ * 삭제 요청은 UPDATE 한 번으로 끝내고, row 와 첨부파일을 지우는 무거운 일은 한가한 시간에 여기서 한다.
+ * 대상은 idx_post_deleted_at_created_at 의 앞 컬럼으로 찾고, batch 마다 트랜잭션을 나눠서 lock 을 오래 잡지 않는다.
+ * 글과 첨부파일, 리비전은 같은 shard 에 있으므로 shard 를 하나씩 돌면서 그 shard 안에서 지운다.
+ */
+@Slf4j
+@Component
+public class PostPurger {
+
+    /**
+     * 정리 대상 조회. 인덱스를 타는지 PostRepositoryTest 에서 이 쿼리 그대로 EXPLAIN 한다.
+     */
+    public static final String SELECT_DELETED = "select id from post"
+            + " where deleted_at is not null and deleted_at < ? order by deleted_at limit ?";
+
+    private static final String DELETE_POST = "delete from post where id = ? and deleted_at is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttachmentService attachmentService;
+    private final PostRevisionService postRevisionService;
+    private final PostShards postShards;
+    private final PurgeProperties properties;
+
+    public PostPurger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      AttachmentService attachmentService, PostRevisionService postRevisionService,
+                      PostShards postShards, PurgeProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attachmentService = attachmentService;
+        this.postRevisionService = postRevisionService;
+        this.postShards = postShards;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${juwonjulog.purge.cron:0 */10 2-5 * * *}")
+    public void purgeScheduled() {
+        purge(LocalDateTime.now().minus(properties.getGracePeriod()));
+    }
+
+    /**
+     * deletedBefore 전에 삭제된 글을 shard 마다 최대 maxBatches 번까지 batchSize 씩 지우고, 지운 글 수를 돌려준다.
+     */
+    public long purge(LocalDateTime deletedBefore) {
+        long started = System.nanoTime();
+        long purged = 0L;
+
+        for (int shard = 0; shard < postShards.count(); shard++) {
+            purged += postShards.on(shard, () -> purgeShard(deletedBefore));
+        }
+
+        if (purged > 0) {
+            log.info("purged {} deleted posts in {}ms", purged, (System.nanoTime() - started) / 1_000_000);
+        }
+        return purged;
+    }
+
+    private long purgeShard(LocalDateTime deletedBefore) {
+        long purged = 0L;
+
+        for (int batch = 0; batch < properties.getMaxBatches(); batch++) {
+            Integer deleted = transactionTemplate.execute(status -> purgeBatch(deletedBefore));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+            if (deleted < properties.getBatchSize()) {
+                break;
+            }
+
+            try {
+                Thread.sleep(properties.getPause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private int purgeBatch(LocalDateTime deletedBefore) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_DELETED, Long.class,
+                Timestamp.valueOf(deletedBefore), properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // 첨부파일이 post 를 외래키로 가리키므로 먼저 지운다. 디스크의 파일은 이 batch 가 커밋된 뒤에 지워진다.
+        attachmentService.deleteAll(ids);
+        postRevisionService.deleteAll(ids);
+        jdbcTemplate.batchUpdate(DELETE_POST, ids.stream()
+                .map(id -> new Object[]{id})
+                .collect(Collectors.toList()));
+        return ids.size();
+    }
+}
@@ -0,0 +1,234 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.domain.PostRevision;
+import com.juwonjulog.api.exception.PostNotFound;
+import com.juwonjulog.api.exception.RevisionNotFound;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.repository.PostRevisionRepository;
+import com.juwonjulog.api.response.PostRevisionDetailResponse;
+import com.juwonjulog.api.response.PostRevisionResponse;
+import com.juwonjulog.api.shard.PostShard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 게시글을 쓰고 고칠 때마다 리비전을 남기고, 원하는 리비전의 본문을 다시 만든다.
+ *
+ * <p>리비전 본문은 바로 전 리비전에 대한 BinaryDelta 로 저장하고, 마지막 keyframe 에서 keyframe-interval 만큼 떨어지면
+ * 본문 전체를 keyframe 으로 저장한다. 그래서 어떤 리비전이든 keyframe 하나와 delta 최대 keyframe-interval - 1 개로 만들 수 있다.</p>
+ *
+ * <p>다시 만든 리비전은 작은 LRU 캐시에 둔다. 리비전은 바뀌지 않으므로 글을 지울 때 말고는 무효화할 일이 없고,
+ * 캐시에 있는 더 가까운 이전 리비전이 있으면 keyframe 대신 거기서부터 delta 를 적용한다.</p>
+ *
+ * <p>리비전은 글과 같은 shard 에 둔다. 남기는 쪽은 글을 쓰고 고치는 트랜잭션 안에서 부르고, 읽는 쪽은 @PostShard 로 글의 shard 에서 읽는다.</p>
+ */
+@Service
+public class PostRevisionService {
+
+    private final PostRepository postRepository;
+    private final PostRevisionRepository postRevisionRepository;
+    private final int keyframeInterval;
+    private final Map<Key, Version> cache;
+
+    public PostRevisionService(PostRepository postRepository, PostRevisionRepository postRevisionRepository,
+                               @Value("${juwonjulog.revisions.keyframe-interval:10}") int keyframeInterval,
+                               @Value("${juwonjulog.revisions.cache-size:64}") int cacheSize) {
+        this.postRepository = postRepository;
+        this.postRevisionRepository = postRevisionRepository;
+        this.keyframeInterval = Math.max(keyframeInterval, 1);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Version> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 새 글의 첫 리비전을 keyframe 으로 남긴다.
+     */
+    public void recordCreated(Post post) {
+        postRevisionRepository.save(keyframe(post.getId(), 1, post.getTitle(), post.getContent()));
+    }
+
+    /**
+     * 고치기 전 본문(previousContent)에 대한 delta 로 새 리비전을 남긴다. 수정과 같은 트랜잭션에서 불러야 한다.
+     * 리비전이 없는 글(이 기능 전에 쓴 글, 스냅샷에서 복원한 글)은 고치기 전 상태를 먼저 첫 리비전으로 남긴다.
+     */
+    public void recordEdited(Post post, String previousTitle, String previousContent) {
+        Long postId = post.getId();
+        Integer latestRev = postRevisionRepository.getLatestRev(postId);
+        if (latestRev == null) {
+            postRevisionRepository.save(keyframe(postId, 1, previousTitle, previousContent));
+            latestRev = 1;
+        }
+
+        int rev = latestRev + 1;
+        Integer keyframeRev = postRevisionRepository.getLatestKeyframeRev(postId, latestRev);
+        if (keyframeRev == null || rev - keyframeRev >= keyframeInterval) {
+            postRevisionRepository.save(keyframe(postId, rev, post.getTitle(), post.getContent()));
+            return;
+        }
+
+        byte[] content = utf8(post.getContent());
+        postRevisionRepository.save(PostRevision.builder()
+                .postId(postId)
+                .rev(rev)
+                .title(post.getTitle())
+                .keyframe(false)
+                .data(BinaryDelta.encode(utf8(previousContent), content))
+                .contentBytes(content.length)
+                .build());
+    }
+
+    @PostShard
+    public List<PostRevisionResponse> getList(Long postId) {
+        if (!postRepository.existsById(postId)) {
+            throw new PostNotFound();
+        }
+        return postRevisionRepository.getList(postId);
+    }
+
+    @PostShard
+    public PostRevisionDetailResponse get(Long postId, int rev) {
+        if (!postRepository.existsById(postId)) {
+            throw new PostNotFound();
+        }
+
+        Version version = reconstruct(postId, rev);
+        return new PostRevisionDetailResponse(rev, version.title,
+                new String(version.content, StandardCharsets.UTF_8), version.createdAt);
+    }
+
+    /**
+     * 글을 DB에서 완전히 지울 때 리비전과 캐시를 같이 지운다. 여러 글의 리비전을 DELETE 한 번으로 지운다.
+     */
+    public void deleteAll(Collection<Long> postIds) {
+        postRevisionRepository.deleteAllByPostIdIn(postIds);
+        Set<Long> deleted = new HashSet<>(postIds);
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> deleted.contains(key.postId));
+        }
+    }
+
+    private Version reconstruct(Long postId, int rev) {
+        Version cached = cached(postId, rev);
+        if (cached != null) {
+            return cached;
+        }
+
+        Integer keyframeRev = postRevisionRepository.getLatestKeyframeRev(postId, rev);
+        if (keyframeRev == null) {
+            throw new RevisionNotFound();
+        }
+
+        // keyframe 까지 거슬러 가면서 캐시에 있는 가장 가까운 리비전을 찾는다.
+        int fromRev = keyframeRev;
+        byte[] content = null;
+        for (int previous = rev - 1; previous >= keyframeRev; previous--) {
+            Version base = cached(postId, previous);
+            if (base != null) {
+                fromRev = previous + 1;
+                content = base.content;
+                break;
+            }
+        }
+
+        List<PostRevision> revisions = postRevisionRepository.getRange(postId, fromRev, rev);
+        if (revisions.size() != rev - fromRev + 1) {
+            throw new RevisionNotFound();
+        }
+
+        PostRevision last = null;
+        for (PostRevision revision : revisions) {
+            if (revision.isKeyframe()) {
+                content = revision.getData();
+            } else if (content != null) {
+                content = BinaryDelta.apply(content, revision.getData());
+            } else {
+                throw new IllegalStateException("revision chain of post " + postId + " does not start with a keyframe");
+            }
+            last = revision;
+        }
+
+        Version version = new Version(last.getTitle(), content, last.getCreatedAt());
+        synchronized (cache) {
+            cache.put(new Key(postId, rev), version);
+        }
+        return version;
+    }
+
+    private Version cached(Long postId, int rev) {
+        synchronized (cache) {
+            return cache.get(new Key(postId, rev));
+        }
+    }
+
+    private static PostRevision keyframe(Long postId, int rev, String title, String content) {
+        byte[] bytes = utf8(content);
+        return PostRevision.builder()
+                .postId(postId)
+                .rev(rev)
+                .title(title)
+                .keyframe(true)
+                .data(bytes)
+                .contentBytes(bytes.length)
+                .build();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static final class Key {
+
+        private final Long postId;
+        private final int rev;
+
+        private Key(Long postId, int rev) {
+            this.postId = postId;
+            this.rev = rev;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return rev == key.rev && postId.equals(key.postId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(postId, rev);
+        }
+    }
+
+    private static final class Version {
+
+        private final String title;
+        private final byte[] content;
+        private final LocalDateTime createdAt;
+
+        private Version(String title, byte[] content, LocalDateTime createdAt) {
+            this.title = title;
+            this.content = content;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.juwonjulog.api.service;
 
 import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.domain.PostChangedEvent;
 import com.juwonjulog.api.domain.PostEditor;
 import com.juwonjulog.api.exception.PostNotFound;
+import com.juwonjulog.api.repository.PostContentResource;
 import com.juwonjulog.api.repository.PostRepository;
 import com.juwonjulog.api.request.PostCreate;
 import com.juwonjulog.api.request.PostEdit;
 import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.response.PopularPostResponse;
+import com.juwonjulog.api.response.PostMultiGetResponse;
 import com.juwonjulog.api.response.PostResponse;
+import com.juwonjulog.api.response.RelatedPostResponse;
+import com.juwonjulog.api.response.TitleSuggestResponse;
+import com.juwonjulog.api.shard.PostShard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,38 +36,114 @@ import java.util.stream.Collectors;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final MarkdownRenderer markdownRenderer;
+    private final PostViewCounter postViewCounter;
+    private final PopularPostTracker popularPostTracker;
+    private final RelatedPostIndex relatedPostIndex;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final AttachmentService attachmentService;
+    private final FrontPageCache frontPageCache;
+    private final PostRevisionService postRevisionService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * 새 글은 shard 를 돌아가며 넣는다. 글과 첫 리비전은 같은 shard 에, 같은 트랜잭션으로 들어간다.
+     */
+    @PostShard(newPost = true)
+    @Transactional
     public void write(PostCreate postCreate) {
         Post post = Post.builder()
                 .title(postCreate.getTitle())
                 .content(postCreate.getContent())
+                .category(postCreate.getCategory())
                 .build();
+        markdownRenderer.render(post);
 
         postRepository.save(post);
+        postRevisionService.recordCreated(post);
     }
 
     public PostResponse get(Long postId) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(PostNotFound::new);
 
+        postViewCounter.increment(postId);
+        popularPostTracker.record(postId);
+
         return PostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
+                .contentHtml(post.getContentHtml())
+                .category(post.getCategory())
+                .createdAt(post.getCreatedAt())
+                .views(post.getViews() + postViewCounter.getPending(postId))
                 .build();
     }
 
+    public PostContentResource getContent(Long postId) {
+        return postRepository.getContent(postId)
+                .orElseThrow(PostNotFound::new);
+    }
+
     public List<PostResponse> getList(PostSearch postSearch) {
-        return postRepository.getList(postSearch).stream()
-                .map(PostResponse::new)
-                .collect(Collectors.toList());
+        return frontPageCache.get(postSearch)
+                .orElseGet(() -> postRepository.getList(postSearch).stream()
+                        .map(PostResponse::new)
+                        .collect(Collectors.toList()));
+    }
+
+    public List<RelatedPostResponse> getRelated(Long postId, int size) {
+        return relatedPostIndex.related(postId, size)
+                .orElseGet(() -> {
+                    if (!postRepository.existsById(postId)) {
+                        throw new PostNotFound();
+                    }
+                    // 기동 직후 인덱스를 다시 만드는 중이면 아직 없을 수 있다.
+                    return List.of();
+                });
+    }
+
+    public List<TitleSuggestResponse> suggest(String prefix, int size) {
+        return titleSuggestIndex.suggest(prefix, size);
+    }
+
+    public List<PopularPostResponse> getPopular(String window, int size) {
+        return popularPostTracker.getPopular(window, size);
     }
 
+    public PostMultiGetResponse getAll(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+
+        Map<Long, Post> found = postRepository.getAllByIds(requestedIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<PostResponse> posts = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Post post = found.get(id);
+            if (post != null) {
+                posts.add(new PostResponse(post));
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return new PostMultiGetResponse(posts, missingIds);
+    }
+
+    /**
+     * 같은 글을 동시에 고치면 둘 다 같은 다음 rev 로 리비전을 남기려다 unique 제약에 걸리므로, 글 row 에 lock 을 잡고 차례로 고친다.
+     * 뒤의 수정은 앞의 수정이 커밋된 본문을 읽으므로 delta 사슬도 이어진다.
+     */
+    @PostShard
     @Transactional
     public void edit(Long postId, PostEdit postEdit) {
-        Post post = postRepository.findById(postId)
+        Post post = postRepository.getForUpdate(postId)
                 .orElseThrow(PostNotFound::new);
 
+        String previousTitle = post.getTitle();
+        String previousContent = post.getContent();
         PostEditor.PostEditorBuilder editorBuilder = post.toEditor();
 
         PostEditor postEditor = editorBuilder
@@ -62,12 +152,28 @@ public class PostService {
                 .build();
 
         post.edit(postEditor);
+        markdownRenderer.render(post);
+        postRevisionService.recordEdited(post, previousTitle, previousContent);
     }
 
+    /**
+     * 삭제 시각만 채우는 UPDATE 한 번으로 지운다. row 와 첨부파일은 PostPurger 가 나중에 정리한다.
+     * bulk UPDATE 는 엔티티 리스너를 거치지 않으므로 PostChangedEvent 는 여기서 직접 발행한다.
+     * 관련 글/자동완성 인덱스는 이 이벤트를 받아 커밋 후에 PostIndexLoader 가 지운다.
+     */
+    @PostShard
+    @Transactional
     public void delete(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(PostNotFound::new);
+        if (postRepository.softDelete(postId, LocalDateTime.now()) == 0) {
+            throw new PostNotFound();
+        }
+
+        eventPublisher.publishEvent(new PostChangedEvent(postId, PostChangedEvent.Type.DELETED));
+        postViewCounter.remove(postId);
+        popularPostTracker.remove(postId);
+    }
 
-        postRepository.delete(post);
+    static String indexText(Post post) {
+        return post.getTitle() + "\n" + post.getContent();
     }
 }
@@ -0,0 +1,149 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.shard.PostShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수를 메모리에 모았다가 주기적으로 한 번의 JDBC batch 로 DB에 반영한다.
+ * 조회할 때마다 UPDATE 를 하면 읽기 요청이 같은 row 의 lock 을 두고 경쟁하게 되므로, 조회 경로에서는 LongAdder 만 올린다.
+ *
+ * <p>flush 는 adder 를 리셋하지 않고 맵에서 떼어 낸다. 떼어 내기 직전에 adder 를 받아 간 조회는 뒤늦게 더할 수 있으므로,
+ * 떼어 낸 adder 는 값이 더 이상 바뀌지 않고 DETACHED_GRACE 가 지날 때까지 들고 있으면서, 늘어난 만큼을 다음 flush 에 반영한다.</p>
+ */
+@Slf4j
+@Component
+public class PostViewCounter {
+
+    private static final String UPDATE_VIEWS = "update post set views = views + ? where id = ?";
+    private static final long DETACHED_GRACE = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostShards postShards;
+    private final boolean enabled;
+
+    /**
+     * 이전 flush 들에서 떼어 낸 adder 와 지금까지 반영한 값. flush 에서만 쓴다.
+     */
+    private List<Detached> detached = new ArrayList<>();
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate, PostShards postShards,
+                           @Value("${juwonjulog.views.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postShards = postShards;
+        this.enabled = enabled;
+    }
+
+    public void increment(Long postId) {
+        if (!enabled) {
+            return;
+        }
+        LongAdder adder = pending.get(postId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수.
+     */
+    public long getPending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public void remove(Long postId) {
+        pending.remove(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${juwonjulog.views.flush-interval-ms:5000}")
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * 종료 시점에는 새 조회가 들어오지 않으므로, 떼어 낸 adder 에 남은 것까지 모두 반영하고 비운다.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+    }
+
+    private synchronized void flush(boolean drain) {
+        long now = System.nanoTime();
+        Map<Long, Long> deltas = new HashMap<>();
+
+        // 맵에서 떼어 낸 뒤에는 새 조회가 이 adder 를 받아 가지 않는다. 조회가 없던 글도 같이 빠져서 맵이 글 수만큼 늘어나지 않는다.
+        for (Long postId : pending.keySet()) {
+            LongAdder adder = pending.remove(postId);
+            if (adder != null) {
+                detached.add(new Detached(postId, adder, now));
+            }
+        }
+
+        List<Detached> kept = new ArrayList<>(detached.size());
+        for (Detached entry : detached) {
+            long sum = entry.adder.sum();
+            long delta = sum - entry.flushed;
+            if (delta > 0) {
+                deltas.merge(entry.postId, delta, Long::sum);
+                entry.flushed = sum;
+            }
+            if (!drain && (delta > 0 || now - entry.detachedAt < DETACHED_GRACE)) {
+                kept.add(entry);
+            }
+        }
+        detached = kept;
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // 글이 있는 shard 마다 batch 하나씩 보낸다. 실패한 shard 의 조회수만 다음 flush 로 넘긴다.
+        Map<Integer, Map<Long, Long>> deltasByShard = new HashMap<>();
+        deltas.forEach((postId, delta) -> deltasByShard
+                .computeIfAbsent(postShards.shardOf(postId), shard -> new HashMap<>())
+                .put(postId, delta));
+
+        deltasByShard.forEach((shard, shardDeltas) -> {
+            List<Object[]> batchArgs = new ArrayList<>(shardDeltas.size());
+            shardDeltas.forEach((postId, delta) -> batchArgs.add(new Object[]{delta, postId}));
+
+            try {
+                postShards.run(shard, () -> jdbcTemplate.batchUpdate(UPDATE_VIEWS, batchArgs));
+            } catch (RuntimeException e) {
+                log.warn("failed to flush {} post view counts, retrying next time", batchArgs.size(), e);
+                shardDeltas.forEach((postId, delta) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(delta));
+            }
+        });
+    }
+
+    private static final class Detached {
+
+        private final Long postId;
+        private final LongAdder adder;
+        private final long detachedAt;
+        private long flushed;
+
+        private Detached(Long postId, LongAdder adder, long detachedAt) {
+            this.postId = postId;
+            this.adder = adder;
+            this.detachedAt = detachedAt;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.response.RelatedPostResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * MinHash signature 를 bands 개의 band(각 rows 칸)로 나눠 LSH bucket 에 넣어두고, 같은 bucket 에 걸린 글만 후보로 비교한다.
+ *
+ * <p>Jaccard 유사도가 s 인 두 글이 후보가 될 확률은 1 - (1 - s^rows)^bands 이다.
+ * bands 를 늘리거나 rows 를 줄이면 recall 이 오르고 후보(비교 비용)가 늘어나며, 반대로 하면 precision 이 오른다.
+ * minSimilarity 보다 추정 유사도가 낮은 후보는 결과에서 뺀다.</p>
+ */
+@Component
+public class RelatedPostIndex {
+
+    private static final long SEED = 0x5EEDL;
+
+    /**
+     * 내용이 거의 없는 글처럼 너무 많은 글이 몰린 bucket 은 조회 시간을 일정하게 하기 위해 건너뛴다.
+     */
+    private static final int MAX_BUCKET_SCAN = 1000;
+
+    private final int bands;
+    private final int rows;
+    private final double minSimilarity;
+    private final MinHash minHash;
+
+    private final Map<Long, int[]> signatures = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    public RelatedPostIndex(@Value("${juwonjulog.related.bands:16}") int bands,
+                            @Value("${juwonjulog.related.rows:4}") int rows,
+                            @Value("${juwonjulog.related.min-similarity:0.2}") double minSimilarity) {
+        this.bands = bands;
+        this.rows = rows;
+        this.minSimilarity = minSimilarity;
+        this.minHash = new MinHash(bands * rows, SEED);
+    }
+
+    public synchronized void index(Long postId, String text) {
+        remove(postId);
+
+        int[] signature = minHash.signature(text);
+        signatures.put(postId, signature);
+        for (int band = 0; band < bands; band++) {
+            buckets.computeIfAbsent(bucketKey(signature, band), key -> ConcurrentHashMap.newKeySet()).add(postId);
+        }
+    }
+
+    public synchronized void remove(Long postId) {
+        int[] signature = signatures.remove(postId);
+        if (signature == null) {
+            return;
+        }
+
+        for (int band = 0; band < bands; band++) {
+            long key = bucketKey(signature, band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(postId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key, bucket);
+                }
+            }
+        }
+    }
+
+    public boolean contains(Long postId) {
+        return signatures.containsKey(postId);
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * postId 와 추정 유사도가 높은 순으로 최대 k 개. 인덱스에 없는 글이면 empty.
+     */
+    public Optional<List<RelatedPostResponse>> related(Long postId, int k) {
+        int[] signature = signatures.get(postId);
+        if (signature == null) {
+            return Optional.empty();
+        }
+
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Set<Long> bucket = buckets.get(bucketKey(signature, band));
+            if (bucket != null && bucket.size() <= MAX_BUCKET_SCAN) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(postId);
+
+        List<RelatedPostResponse> related = new ArrayList<>(candidates.size());
+        for (Long candidate : candidates) {
+            int[] other = signatures.get(candidate);
+            if (other == null) {
+                continue;
+            }
+            double similarity = MinHash.similarity(signature, other);
+            if (similarity >= minSimilarity) {
+                related.add(new RelatedPostResponse(candidate, similarity));
+            }
+        }
+
+        return Optional.of(related.stream()
+                .sorted(Comparator.comparingDouble(RelatedPostResponse::getSimilarity).reversed()
+                        .thenComparing(RelatedPostResponse::getPostId, Comparator.reverseOrder()))
+                .limit(Math.max(k, 0))
+                .collect(Collectors.toList()));
+    }
+
+    private long bucketKey(int[] signature, int band) {
+        int hash = 1;
+        for (int row = band * rows; row < (band + 1) * rows; row++) {
+            hash = 31 * hash + signature[row];
+        }
+        return ((long) band << 32) | (hash & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,126 @@
+package com.juwonjulog.api.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters (Metwally et al.). 최대 capacity 개의 카운터만으로 빈도 상위 항목을 추정한다.
+ *
+ * <ul>
+ *     <li>추정치 count 는 실제 빈도 이상이고, count - error 는 실제 빈도 이하다.</li>
+ *     <li>error 는 항상 전체 빈도 합 / capacity 이하다.</li>
+ *     <li>실제 빈도가 전체 빈도 합 / capacity 보다 큰 항목은 반드시 남아있다.</li>
+ * </ul>
+ */
+public class SpaceSaving {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator.comparingLong(Counter::getCount)
+            .thenComparingLong(Counter::getItem);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters;
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+    private long total;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(long item, long increment) {
+        total += increment;
+
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += increment;
+            ordered.add(counter);
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counter = new Counter(item, increment, 0L);
+        } else {
+            Counter min = ordered.pollFirst();
+            counters.remove(min.item);
+            counter = new Counter(item, min.count + increment, min.count);
+        }
+        counters.put(item, counter);
+        ordered.add(counter);
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * 카운터 복사본과, 카운터가 없는 항목의 실제 빈도 상한을 한 번에 읽는다.
+     * 한 번도 꽉 찬 적이 없으면 빠진 항목이 없으므로 상한은 0이고, 꽉 찼으면 가장 작은 카운터의 count 다.
+     */
+    public synchronized Snapshot snapshot() {
+        long absentMax = counters.size() < capacity ? 0L : ordered.first().count;
+        return new Snapshot(getCounters(), absentMax);
+    }
+
+    /**
+     * 현재 카운터들의 복사본. 순서는 보장하지 않는다.
+     */
+    public synchronized List<Counter> getCounters() {
+        List<Counter> copy = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            copy.add(new Counter(counter.item, counter.count, counter.error));
+        }
+        return copy;
+    }
+
+    public static class Snapshot {
+
+        private final List<Counter> counters;
+        private final long absentMax;
+
+        private Snapshot(List<Counter> counters, long absentMax) {
+            this.counters = counters;
+            this.absentMax = absentMax;
+        }
+
+        public List<Counter> getCounters() {
+            return counters;
+        }
+
+        public long getAbsentMax() {
+            return absentMax;
+        }
+    }
+
+    public static class Counter {
+
+        private final long item;
+        private long count;
+        private final long error;
+
+        public Counter(long item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.response.TitleSuggestResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목 자동완성용 trie. 제목을 자모열로 풀어서({@link HangulJamo}) 한 글자씩 노드를 내려간다.
+ *
+ * <p>각 노드는 그 아래에 걸린 글 중 최신(id 가 큰) topK 개를 미리 들고 있어서, 조회는 prefix 길이만큼 내려가서
+ * 배열을 읽는 것으로 끝난다. 노드는 정렬된 char[] / Node[] 배열로 자식을 들고 있어 Map 보다 작다.</p>
+ *
+ * <p>제목 전체뿐 아니라 단어마다 그 단어부터 시작하는 suffix 도 넣어서, "부트" 로 "스프링 부트 입문" 을 찾을 수 있다.</p>
+ */
+@Component
+public class TitleSuggestIndex {
+
+    private static final int MAX_WORDS = 8;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private final int topK;
+    private final Node root = new Node();
+    private final Map<Long, String> titles = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TitleSuggestIndex(@Value("${juwonjulog.suggest.top-k:10}") int topK) {
+        this.topK = topK;
+    }
+
+    public void index(Long postId, String title) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+            titles.put(postId, title);
+
+            for (String key : keys(title)) {
+                Node node = root;
+                for (int i = 0; i < key.length(); i++) {
+                    node = node.childOrCreate(key.charAt(i));
+                    node.top = offerTop(node.top, postId);
+                }
+                node.terminals = addId(node.terminals, postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * prefix 로 시작하는(또는 제목 중간 단어가 prefix 로 시작하는) 글을 최신순으로 최대 size 개.
+     */
+    public List<TitleSuggestResponse> suggest(String prefix, int size) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || size <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            long[] top = node.top;
+            List<TitleSuggestResponse> suggestions = new ArrayList<>(Math.min(size, top.length));
+            for (int i = 0; i < top.length && suggestions.size() < size; i++) {
+                suggestions.add(new TitleSuggestResponse(top[i], titles.get(top[i])));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long postId) {
+        return titles.containsKey(postId);
+    }
+
+    public int size() {
+        return titles.size();
+    }
+
+    private void removeLocked(Long postId) {
+        String title = titles.remove(postId);
+        if (title == null) {
+            return;
+        }
+
+        Set<String> keys = keys(title);
+        for (String key : keys) {
+            Node node = find(key);
+            if (node != null) {
+                node.terminals = removeId(node.terminals, postId);
+            }
+        }
+
+        // 모든 terminal 을 먼저 지운 뒤 경로마다 아래에서 위로 top 을 다시 계산한다.
+        // 다른 key 의 경로에 남은 postId 는 그 경로를 다시 계산할 때 공통 조상까지 함께 지워진다.
+        for (String key : keys) {
+            Node[] path = new Node[key.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length() && path[i] != null; i++) {
+                path[i + 1] = path[i].child(key.charAt(i));
+            }
+
+            for (int depth = key.length(); depth > 0; depth--) {
+                Node node = path[depth];
+                if (node == null) {
+                    continue;
+                }
+                if (contains(node.top, postId)) {
+                    node.top = recomputeTop(node);
+                }
+                if (node.isEmpty()) {
+                    path[depth - 1].removeChild(key.charAt(depth - 1));
+                }
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * 자식들의 top 은 이미 각 서브트리의 최신 topK 이므로, 자식 top 과 이 노드의 terminal 만 합치면 된다.
+     */
+    private long[] recomputeTop(Node node) {
+        int candidates = node.terminals.length;
+        for (Node child : node.children) {
+            candidates += child.top.length;
+        }
+
+        long[] merged = new long[candidates];
+        int length = 0;
+        System.arraycopy(node.terminals, 0, merged, length, node.terminals.length);
+        length += node.terminals.length;
+        for (Node child : node.children) {
+            System.arraycopy(child.top, 0, merged, length, child.top.length);
+            length += child.top.length;
+        }
+
+        Arrays.sort(merged);
+        long[] top = new long[Math.min(topK, merged.length)];
+        int size = 0;
+        for (int i = merged.length - 1; i >= 0 && size < top.length; i--) {
+            if (size == 0 || top[size - 1] != merged[i]) {
+                top[size++] = merged[i];
+            }
+        }
+        return size == top.length ? top : Arrays.copyOf(top, size);
+    }
+
+    /**
+     * id 는 작성 순서대로 커지므로 내림차순으로 유지한다.
+     */
+    private long[] offerTop(long[] top, long postId) {
+        int position = 0;
+        while (position < top.length && top[position] > postId) {
+            position++;
+        }
+        if (position < top.length && top[position] == postId) {
+            return top;
+        }
+        if (position >= topK) {
+            return top;
+        }
+
+        long[] updated = new long[Math.min(top.length + 1, topK)];
+        System.arraycopy(top, 0, updated, 0, position);
+        updated[position] = postId;
+        System.arraycopy(top, position, updated, position + 1, updated.length - position - 1);
+        return updated;
+    }
+
+    private static long[] addId(long[] ids, long postId) {
+        if (contains(ids, postId)) {
+            return ids;
+        }
+        long[] updated = Arrays.copyOf(ids, ids.length + 1);
+        updated[ids.length] = postId;
+        return updated;
+    }
+
+    private static long[] removeId(long[] ids, long postId) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == postId) {
+                if (ids.length == 1) {
+                    return NO_IDS;
+                }
+                long[] updated = new long[ids.length - 1];
+                System.arraycopy(ids, 0, updated, 0, i);
+                System.arraycopy(ids, i + 1, updated, i, ids.length - i - 1);
+                return updated;
+            }
+        }
+        return ids;
+    }
+
+    private static boolean contains(long[] ids, long postId) {
+        for (long id : ids) {
+            if (id == postId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> keys(String title) {
+        Set<String> keys = new LinkedHashSet<>();
+        String[] words = title.trim().split("\\s+");
+        for (int i = 0; i < words.length && i < MAX_WORDS; i++) {
+            String key = normalize(String.join(" ", Arrays.asList(words).subList(i, words.length)));
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return HangulJamo.decompose(text.trim().replaceAll("\\s+", " "));
+    }
+
+    private static final class Node {
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private long[] top = NO_IDS;
+        private long[] terminals = NO_IDS;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int position = -index - 1;
+            Node child = new Node();
+
+            char[] newLabels = new char[labels.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, position);
+            newLabels[position] = label;
+            System.arraycopy(labels, position, newLabels, position + 1, labels.length - position);
+
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newChildren[position] = child;
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            if (labels.length == 1) {
+                labels = NO_LABELS;
+                children = NO_CHILDREN;
+                return;
+            }
+
+            char[] newLabels = new char[labels.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+
+            labels = newLabels;
+            children = newChildren;
+        }
+
+        private boolean isEmpty() {
+            return children.length == 0 && terminals.length == 0;
+        }
+    }
+}
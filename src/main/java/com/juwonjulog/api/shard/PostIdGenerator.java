@@ -0,0 +1,57 @@
+package com.juwonjulog.api.shard;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * 시간 순서대로 커지는 게시글 id 를 만든다. 위에서부터 밀리초(41비트), 순번(8비트), shard(4비트)를 붙인 53비트 값이라
+ * 자바스크립트 Number 로도 정확히 읽힌다.
+ *
+ * <p>순번은 shard 와 상관없이 JVM 하나에서 이어지므로, 어느 shard 에 들어갔든 id 가 크면 나중에 쓴 글이다.
+ * 그래서 shard 마다 id 역순으로 읽어서 합치면 단일 DB 의 id 역순 목록과 같아진다.
+ * 한 밀리초에 순번을 다 쓰면 다음 밀리초 값을 당겨 쓰고, 시계가 뒤로 가도 마지막 값보다 작아지지 않는다.</p>
+ *
+ * <p>글을 넣는 shard 는 지금 스레드의 ShardContext 로 정한다. 커넥션도 같은 값으로 꺼내므로 id 가 가리키는 shard 와
+ * 글이 실제로 들어간 shard 가 항상 같다.</p>
+ */
+public class PostIdGenerator implements IdentifierGenerator {
+
+    public static final int MAX_SHARDS = 16;
+
+    private static final int SHARD_BITS = 4;
+    private static final int SEQUENCE_BITS = 8;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static long lastMillis;
+    private static long sequence;
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return next(ShardContext.get());
+    }
+
+    public static synchronized long next(int shard) {
+        long millis = Math.max(System.currentTimeMillis() - EPOCH, lastMillis);
+        if (millis == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                millis++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = millis;
+        return (millis << (SEQUENCE_BITS + SHARD_BITS)) | (sequence << SHARD_BITS) | shard;
+    }
+
+    /**
+     * id 에 들어 있는 shard 번호. 이 생성기 전에 쓴 작은 id 도 아래 4비트로 나뉜다.
+     */
+    public static int shardBits(long id) {
+        return (int) (id & (MAX_SHARDS - 1));
+    }
+}
@@ -0,0 +1,21 @@
+package com.juwonjulog.api.shard;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드를 게시글이 있는 shard 에서 실행한다. 첫 번째 인자를 게시글 id 로 본다.
+ * newPost 이면 인자 대신 PostShards 가 새 글을 넣을 shard 를 고른다.
+ *
+ * <p>트랜잭션이 커넥션을 꺼내기 전에 shard 가 정해져야 하므로 PostShardAspect 는 @Transactional 보다 바깥에서 돈다.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PostShard {
+
+    boolean newPost() default false;
+}
@@ -0,0 +1,39 @@
+package com.juwonjulog.api.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * @PostShard 메서드의 shard 를 정한다. 트랜잭션 advisor(LOWEST_PRECEDENCE)보다 바깥에서 돌도록 순서를 앞에 둔다.
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class PostShardAspect {
+
+    private final PostShards postShards;
+
+    @Around("@annotation(postShard)")
+    public Object route(ProceedingJoinPoint joinPoint, PostShard postShard) {
+        int shard = postShard.newPost()
+                ? postShards.nextShard()
+                : postShards.shardOf((Long) joinPoint.getArgs()[0]);
+
+        return postShards.on(shard, () -> {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        });
+    }
+}
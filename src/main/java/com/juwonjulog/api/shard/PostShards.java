@@ -0,0 +1,149 @@
+package com.juwonjulog.api.shard;
+
+import com.juwonjulog.api.config.ShardingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * 게시글이 어느 shard 에 있는지 정하고, 작업을 그 shard 에서 실행한다.
+ *
+ * <p>게시글 id 의 아래 비트가 shard 번호라서(PostIdGenerator) 따로 찾아볼 표가 없다. 새 글은 shard 를 돌아가며 넣는다.
+ * 첨부파일과 리비전은 글과 같은 shard 에 둔다.</p>
+ *
+ * <p>shard 는 트랜잭션이 커넥션을 꺼내기 전에 정해야 한다. 그래서 한 글만 다루는 서비스 메서드는 @PostShard 로
+ * 트랜잭션 바깥에서 shard 를 정하고, 그 안의 repository 호출은 모두 같은 shard 의 커넥션을 쓴다.
+ * 다른 shard 의 트랜잭션 안에서 on 을 부르면 그 트랜잭션을 잠시 멈추고 새 트랜잭션에서 실행한다.</p>
+ *
+ * <p>shard 가 하나면(sharding 이 꺼져 있으면) 아무것도 바꾸지 않고 바로 실행한다.</p>
+ */
+@Component
+public class PostShards {
+
+    private final int count;
+    private final TransactionTemplate requiresNew;
+    private final ExecutorService scatter;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Autowired
+    public PostShards(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+        this(properties.isEnabled() ? properties.getUrls().size() : 1, transactionManager,
+                properties.getScatterThreads());
+    }
+
+    private PostShards(int count, PlatformTransactionManager transactionManager, int scatterThreads) {
+        if (count < 1 || count > PostIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("shard count must be between 1 and " + PostIdGenerator.MAX_SHARDS
+                    + ", but was " + count);
+        }
+        this.count = count;
+        if (count == 1) {
+            this.requiresNew = null;
+            this.scatter = null;
+            return;
+        }
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scatter = Executors.newFixedThreadPool(Math.max(scatterThreads, count),
+                new CustomizableThreadFactory("shard-scatter-"));
+    }
+
+    /**
+     * DB 하나만 쓸 때. Spring 없이 만드는 테스트와 벤치마크에서 쓴다.
+     */
+    public static PostShards single() {
+        return new PostShards(1, null, 0);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int shardOf(long postId) {
+        return PostIdGenerator.shardBits(postId) % count;
+    }
+
+    /**
+     * 새 글을 넣을 shard.
+     */
+    public int nextShard() {
+        return Math.floorMod(next.getAndIncrement(), count);
+    }
+
+    public <T> T onPost(long postId, Supplier<T> work) {
+        return on(shardOf(postId), work);
+    }
+
+    public void run(int shard, Runnable work) {
+        on(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T on(int shard, Supplier<T> work) {
+        if (count == 1 || ShardContext.get() == shard) {
+            return work.get();
+        }
+        Integer previous = ShardContext.set(shard);
+        try {
+            // 다른 shard 의 커넥션을 잡은 트랜잭션에 끼면 엉뚱한 DB 를 읽으므로 새 트랜잭션을 연다.
+            return TransactionSynchronizationManager.isActualTransactionActive()
+                    ? requiresNew.execute(status -> work.get())
+                    : work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * 모든 shard 에서 동시에 실행하고, shard 번호 순서대로 결과를 돌려준다.
+     * 각 shard 의 작업은 다른 스레드에서 자기 트랜잭션으로 돈다. 하나라도 실패하면 그 예외를 던진다.
+     */
+    public <T> List<T> onEach(IntFunction<T> work) {
+        if (count == 1) {
+            return List.of(work.apply(0));
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> on(target, () -> work.apply(target)), scatter));
+        }
+
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatter != null) {
+            scatter.shutdown();
+        }
+    }
+}
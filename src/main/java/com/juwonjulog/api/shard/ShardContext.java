@@ -0,0 +1,35 @@
+package com.juwonjulog.api.shard;
+
+/**
+ * 지금 스레드가 쓰는 shard 번호. ShardRoutingDataSource 가 커넥션을 꺼낼 때와 PostIdGenerator 가 id 를 만들 때 읽는다.
+ * 정해지지 않았으면 0번 shard 다. 값은 PostShards 와 PostShardAspect 만 바꾸고, 바꾼 쪽이 끝날 때 되돌린다.
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static int get() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    /**
+     * shard 를 바꾸고 바꾸기 전 값을 돌려준다. 돌려받은 값은 restore 에 넘긴다.
+     */
+    static Integer set(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.juwonjulog.api.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지금 스레드의 ShardContext 가 가리키는 shard 의 커넥션을 꺼내 준다.
+ *
+ * <p>JPA 는 DataSource 하나로 스키마를 만들기 때문에 Hibernate 는 0번 shard 에만 테이블을 만든다.
+ * 나머지 shard 는 처음 커넥션을 꺼낼 때 0번 shard 의 스키마를 H2 SCRIPT 로 떠서 그대로 옮긴다.
+ * 그때 그 shard 에 있던 객체는 모두 지우므로, Hibernate 가 0번 shard 를 새로 만드는 것(create-drop)과 맞는다.</p>
+ */
+@Slf4j
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+
+    /**
+     * 스키마를 옮긴 shard 의 비트.
+     */
+    private volatile int schemaReady = 1;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty() || shards.size() > PostIdGenerator.MAX_SHARDS) {
+            throw new IllegalArgumentException("shard count must be between 1 and " + PostIdGenerator.MAX_SHARDS
+                    + ", but was " + shards.size());
+        }
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ensureSchema(ShardContext.get());
+        return super.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ensureSchema(ShardContext.get());
+        return super.getConnection(username, password);
+    }
+
+    @Override
+    public void close() {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) shard).close();
+                } catch (Exception e) {
+                    log.warn("failed to close shard data source", e);
+                }
+            }
+        }
+    }
+
+    private void ensureSchema(int shard) throws SQLException {
+        if ((schemaReady & (1 << shard)) != 0) {
+            return;
+        }
+        if (shard >= shards.size()) {
+            throw new IllegalStateException("no shard " + shard + ", only " + shards.size() + " configured");
+        }
+        synchronized (this) {
+            if ((schemaReady & (1 << shard)) != 0) {
+                return;
+            }
+            List<String> statements = schemaScript();
+            try (Connection connection = shards.get(shard).getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("drop all objects");
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+            }
+            schemaReady |= 1 << shard;
+            log.info("copied schema of shard 0 to shard {} ({} statements)", shard, statements.size());
+        }
+    }
+
+    private List<String> schemaScript() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Connection connection = shards.get(0).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("script nodata nopasswords nosettings")) {
+            while (rs.next()) {
+                String sql = rs.getString(1);
+                if (!sql.startsWith("--") && !sql.startsWith("CREATE USER")) {
+                    statements.add(sql);
+                }
+            }
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,33 @@
+package com.juwonjulog.api.snapshot;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스냅샷 파일에 들어가는 첨부파일 행 한 건. 파일 내용은 디스크(AttachmentStorage)에 남아 있으므로 행만 넣는다.
+ */
+@Getter
+public class AttachmentSnapshotRecord {
+
+    private final long id;
+    private final long postId;
+    private final String filename;
+    private final String contentType;
+    private final long size;
+    private final String sha256;
+    private final LocalDateTime createdAt;
+
+    @Builder
+    public AttachmentSnapshotRecord(long id, long postId, String filename, String contentType, long size,
+                                    String sha256, LocalDateTime createdAt) {
+        this.id = id;
+        this.postId = postId;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.size = size;
+        this.sha256 = sha256;
+        this.createdAt = createdAt;
+    }
+}
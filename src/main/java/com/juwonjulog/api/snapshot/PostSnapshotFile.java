@@ -0,0 +1,364 @@
+package com.juwonjulog.api.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * 게시글 스냅샷 파일 형식.
+ *
+ * <pre>
+ * header     : magic(long) version(int)
+ * record     : length(int) crc32(int) payload(length bytes)
+ * payload    : type(byte) 뒤에 type 별 내용
+ * post       : id(long) createdAt(long epochSecond, int nano) views(long) contentBytes(long) renderVersion(int, 없으면 -1)
+ *              title content contentHtml contentHash category
+ * attachment : id(long) postId(long) createdAt size(long) filename contentType sha256
+ * revision   : id(long) postId(long) createdAt rev(int) keyframe(byte) contentBytes(long) data(길이(int) + 바이트) title
+ * trailer    : -1(int) recordCount(long)
+ * </pre>
+ *
+ * <p>문자열은 UTF-8 길이(int, null 이면 -1) + 바이트다. 버전 1 파일은 type 없이 post 만 있으므로 그대로 post 로 읽는다.</p>
+ *
+ * <p>쓸 때는 임시 파일에 순서대로 쓰고 trailer 까지 쓴 다음 이름을 바꾼다.
+ * 읽을 때는 파일을 메모리 매핑해서 레코드마다 CRC 를 확인하고, trailer 가 없거나 개수가 다르면 잘린 파일로 본다.</p>
+ */
+public final class PostSnapshotFile {
+
+    static final long MAGIC = 0x4A574C534E415031L; // "JWLSNAP1"
+    static final int VERSION = 2;
+
+    private static final int VERSION_POSTS_ONLY = 1;
+    private static final byte TYPE_POST = 1;
+    private static final byte TYPE_ATTACHMENT = 2;
+    private static final byte TYPE_REVISION = 3;
+
+    private static final int END_OF_RECORDS = -1;
+    private static final int NULL_LENGTH = -1;
+    private static final long MAP_WINDOW = 256L * 1024 * 1024;
+
+    private PostSnapshotFile() {
+    }
+
+    public static Writer writer(Path target) throws IOException {
+        return new Writer(target);
+    }
+
+    /**
+     * 레코드를 순서대로 handler 에 넘기고 레코드 수를 돌려준다.
+     */
+    public static long read(Path file, Handler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedReader reader = new MappedReader(channel);
+
+            ByteBuffer header = reader.require(Long.BYTES + Integer.BYTES);
+            if (header.getLong() != MAGIC) {
+                throw new SnapshotCorrupted("not a post snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION && version != VERSION_POSTS_ONLY) {
+                throw new SnapshotCorrupted("unsupported snapshot version " + version + ": " + file);
+            }
+
+            CRC32 crc = new CRC32();
+            byte[] scratch = new byte[8192];
+            long count = 0L;
+
+            while (true) {
+                int length = reader.require(Integer.BYTES).getInt();
+                if (length == END_OF_RECORDS) {
+                    long expected = reader.require(Long.BYTES).getLong();
+                    if (expected != count) {
+                        throw new SnapshotCorrupted("expected " + expected + " records but read " + count + ": " + file);
+                    }
+                    return count;
+                }
+                if (length < 0) {
+                    throw new SnapshotCorrupted("invalid record length " + length + " at record " + count + ": " + file);
+                }
+
+                ByteBuffer buffer = reader.require(Integer.BYTES + length);
+                int checksum = buffer.getInt();
+                ByteBuffer payload = buffer.slice();
+                payload.limit(length);
+                buffer.position(buffer.position() + length);
+
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    throw new SnapshotCorrupted("checksum mismatch at record " + count + ": " + file);
+                }
+
+                scratch = ensureCapacity(scratch, length);
+                byte type = version == VERSION_POSTS_ONLY ? TYPE_POST : payload.get();
+                switch (type) {
+                    case TYPE_POST:
+                        handler.post(readPost(payload, scratch));
+                        break;
+                    case TYPE_ATTACHMENT:
+                        handler.attachment(readAttachment(payload, scratch));
+                        break;
+                    case TYPE_REVISION:
+                        handler.revision(readRevision(payload, scratch));
+                        break;
+                    default:
+                        throw new SnapshotCorrupted("unknown record type " + type + " at record " + count + ": " + file);
+                }
+                count++;
+            }
+        }
+    }
+
+    private static PostSnapshotRecord readPost(ByteBuffer payload, byte[] scratch) throws SnapshotCorrupted {
+        PostSnapshotRecord.PostSnapshotRecordBuilder record = PostSnapshotRecord.builder()
+                .id(payload.getLong())
+                .createdAt(readDateTime(payload))
+                .views(payload.getLong())
+                .contentBytes(payload.getLong());
+        int renderVersion = payload.getInt();
+
+        return record
+                .renderVersion(renderVersion >= 0 ? renderVersion : null)
+                .title(readString(payload, scratch))
+                .content(readString(payload, scratch))
+                .contentHtml(readString(payload, scratch))
+                .contentHash(readString(payload, scratch))
+                .category(readString(payload, scratch))
+                .build();
+    }
+
+    private static AttachmentSnapshotRecord readAttachment(ByteBuffer payload, byte[] scratch) throws SnapshotCorrupted {
+        return AttachmentSnapshotRecord.builder()
+                .id(payload.getLong())
+                .postId(payload.getLong())
+                .createdAt(readDateTime(payload))
+                .size(payload.getLong())
+                .filename(readString(payload, scratch))
+                .contentType(readString(payload, scratch))
+                .sha256(readString(payload, scratch))
+                .build();
+    }
+
+    private static RevisionSnapshotRecord readRevision(ByteBuffer payload, byte[] scratch) throws SnapshotCorrupted {
+        RevisionSnapshotRecord.RevisionSnapshotRecordBuilder record = RevisionSnapshotRecord.builder()
+                .id(payload.getLong())
+                .postId(payload.getLong())
+                .createdAt(readDateTime(payload))
+                .rev(payload.getInt())
+                .keyframe(payload.get() != 0)
+                .contentBytes(payload.getLong());
+
+        int dataLength = payload.getInt();
+        if (dataLength < 0 || dataLength > payload.remaining()) {
+            throw new SnapshotCorrupted("invalid revision data length " + dataLength);
+        }
+        byte[] data = new byte[dataLength];
+        payload.get(data);
+
+        return record
+                .data(data)
+                .title(readString(payload, scratch))
+                .build();
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer payload) {
+        return LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+    }
+
+    private static String readString(ByteBuffer payload, byte[] scratch) throws SnapshotCorrupted {
+        int length = payload.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > payload.remaining()) {
+            throw new SnapshotCorrupted("invalid string length " + length);
+        }
+        payload.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ensureCapacity(byte[] scratch, int length) {
+        return scratch.length >= length ? scratch : new byte[Math.max(length, scratch.length * 2)];
+    }
+
+    /**
+     * 파일을 MAP_WINDOW 크기씩 매핑하고, 남은 바이트가 모자라면 현재 위치부터 다시 매핑한다.
+     */
+    private static class MappedReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private long base;
+        private ByteBuffer buffer;
+
+        private MappedReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.base = 0L;
+            this.buffer = ByteBuffer.allocate(0);
+        }
+
+        private ByteBuffer require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return buffer;
+            }
+
+            base += buffer.position();
+            if (base + bytes > size) {
+                throw new SnapshotCorrupted("unexpected end of snapshot at offset " + base);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, Math.max(MAP_WINDOW, bytes)));
+            return buffer;
+        }
+    }
+
+    /**
+     * 읽은 레코드를 받는다. 게시글만 필요하면 post 하나만 구현하면 된다.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        void post(PostSnapshotRecord record);
+
+        default void attachment(AttachmentSnapshotRecord record) {
+        }
+
+        default void revision(RevisionSnapshotRecord record) {
+        }
+    }
+
+    public static class Writer implements Closeable {
+
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(4096);
+        private final DataOutputStream payload = new DataOutputStream(payloadBytes);
+        private final CRC32 crc = new CRC32();
+        private long count;
+        private boolean committed;
+
+        private Writer(Path target) throws IOException {
+            this.target = target;
+            Path dir = target.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            this.temp = Files.createTempFile(dir, target.getFileName().toString(), ".part");
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 20));
+
+            out.writeLong(MAGIC);
+            out.writeInt(VERSION);
+        }
+
+        public void write(PostSnapshotRecord record) throws IOException {
+            payloadBytes.reset();
+            payload.writeByte(TYPE_POST);
+            payload.writeLong(record.getId());
+            writeDateTime(record.getCreatedAt());
+            payload.writeLong(record.getViews());
+            payload.writeLong(record.getContentBytes());
+            payload.writeInt(record.getRenderVersion() != null ? record.getRenderVersion() : -1);
+            writeString(record.getTitle());
+            writeString(record.getContent());
+            writeString(record.getContentHtml());
+            writeString(record.getContentHash());
+            writeString(record.getCategory());
+            writeRecord();
+        }
+
+        public void write(AttachmentSnapshotRecord record) throws IOException {
+            payloadBytes.reset();
+            payload.writeByte(TYPE_ATTACHMENT);
+            payload.writeLong(record.getId());
+            payload.writeLong(record.getPostId());
+            writeDateTime(record.getCreatedAt());
+            payload.writeLong(record.getSize());
+            writeString(record.getFilename());
+            writeString(record.getContentType());
+            writeString(record.getSha256());
+            writeRecord();
+        }
+
+        public void write(RevisionSnapshotRecord record) throws IOException {
+            payloadBytes.reset();
+            payload.writeByte(TYPE_REVISION);
+            payload.writeLong(record.getId());
+            payload.writeLong(record.getPostId());
+            writeDateTime(record.getCreatedAt());
+            payload.writeInt(record.getRev());
+            payload.writeByte(record.isKeyframe() ? 1 : 0);
+            payload.writeLong(record.getContentBytes());
+            payload.writeInt(record.getData().length);
+            payload.write(record.getData());
+            writeString(record.getTitle());
+            writeRecord();
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * trailer 를 쓰고 디스크에 내린 뒤 target 으로 원자적으로 바꿔 끼운다.
+         */
+        public void commit() throws IOException {
+            out.writeInt(END_OF_RECORDS);
+            out.writeLong(count);
+            out.flush();
+            channel.force(true);
+            out.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+        }
+
+        private void writeRecord() throws IOException {
+            payload.flush();
+
+            byte[] bytes = payloadBytes.toByteArray();
+            crc.reset();
+            crc.update(bytes, 0, bytes.length);
+
+            out.writeInt(bytes.length);
+            out.writeInt((int) crc.getValue());
+            out.write(bytes);
+            count++;
+        }
+
+        private void writeDateTime(LocalDateTime value) throws IOException {
+            payload.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            payload.writeInt(value.getNano());
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                payload.writeInt(NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            payload.writeInt(bytes.length);
+            payload.write(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
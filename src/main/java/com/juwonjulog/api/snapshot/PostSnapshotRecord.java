@@ -0,0 +1,40 @@
+package com.juwonjulog.api.snapshot;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스냅샷 파일에 들어가는 게시글 한 건. 렌더링된 HTML 까지 넣어서 복원 후 다시 렌더링하지 않게 한다.
+ */
+@Getter
+public class PostSnapshotRecord {
+
+    private final long id;
+    private final String title;
+    private final String content;
+    private final long contentBytes;
+    private final String contentHtml;
+    private final String contentHash;
+    private final Integer renderVersion;
+    private final String category;
+    private final LocalDateTime createdAt;
+    private final long views;
+
+    @Builder
+    public PostSnapshotRecord(long id, String title, String content, long contentBytes, String contentHtml,
+                              String contentHash, Integer renderVersion, String category, LocalDateTime createdAt,
+                              long views) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.contentBytes = contentBytes;
+        this.contentHtml = contentHtml;
+        this.contentHash = contentHash;
+        this.renderVersion = renderVersion;
+        this.category = category;
+        this.createdAt = createdAt;
+        this.views = views;
+    }
+}
@@ -0,0 +1,403 @@
+package com.juwonjulog.api.snapshot;
+
+import com.juwonjulog.api.config.SnapshotProperties;
+import com.juwonjulog.api.service.PostViewCounter;
+import com.juwonjulog.api.shard.PostShards;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * in-memory H2 의 게시글과 첨부파일, 리비전 행을 스냅샷 파일로 남기고, 다음 기동 때 통째로 복원한다.
+ *
+ * <p>복원은 모든 singleton 이 만들어진 직후(웹 서버가 뜨기 전) JDBC batch 로 한 트랜잭션에 넣는다.
+ * 그래서 첫 요청이 들어올 때는 이미 글이 다 들어가 있고, 렌더링된 HTML 도 같이 복원되어 다시 렌더링하지 않는다.
+ * 첨부파일 내용은 AttachmentStorage 의 디렉터리에 그대로 남아 있으므로 행만 복원한다.</p>
+ *
+ * <p>fast-startup 프로필은 EntityManagerFactory 를 백그라운드에서 만들고(deferred bootstrap) 스키마도 그때 만들어지므로,
+ * 복원 전에 EntityManagerFactory 가 다 만들어질 때까지 기다린다. lazy-initialization 에서도 복원이 돌도록 이 빈은 바로 만든다.</p>
+ *
+ * <p>스냅샷은 테이블마다 따로 읽으므로 게시글을 읽은 뒤에 생긴 글의 첨부파일이나 리비전이 들어갈 수 있다.
+ * 복원할 때는 같이 복원된 글에 딸린 행만 넣는다.</p>
+ *
+ * <p>shard 가 여럿이면 테이블마다 shard 를 차례로 읽어 한 파일에 쓴다. 복원은 shard 마다 파일을 한 번씩 읽으면서
+ * 그 shard 에 속한 글(과 거기 딸린 행)만 그 shard 의 트랜잭션에 넣는다. 어느 shard 에서 실패하면 먼저 복원한 shard 도 비운다.</p>
+ *
+ * <p>메모리 인덱스(관련 글, 자동완성)와 피드/첫 페이지 캐시는 스냅샷에 넣지 않는다.
+ * 인덱스는 ApplicationReadyEvent 뒤에 PostIndexLoader 가 백그라운드에서 DB를 id 순으로 읽어 다시 만들고,
+ * 그동안에도 요청은 처리된다(다 만들어지기 전에는 관련 글과 자동완성 결과가 덜 나올 뿐이다).
+ * 피드와 첫 페이지는 처음 요청될 때 최신 글 한 페이지만 읽는다. 그래서 기동 시간에는 더해지지 않는다.
+ * 재구성 시간은 SnapshotBenchmark 가 같이 잰다.</p>
+ */
+@Slf4j
+@Lazy(false)
+@Component
+public class PostSnapshotService implements SmartInitializingSingleton {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SELECT_POSTS = "select id, title, content, content_bytes, content_html, content_hash, render_version,"
+            + " category, created_at, views from post where id > ? and deleted_at is null order by id limit ?";
+
+    private static final String SELECT_ATTACHMENTS = "select id, post_id, filename, content_type, size, sha256, created_at"
+            + " from attachment where id > ? order by id limit ?";
+
+    private static final String SELECT_REVISIONS = "select id, post_id, rev, title, keyframe, data, content_bytes, created_at"
+            + " from post_revision where id > ? order by id limit ?";
+
+    private static final String INSERT_POST = "insert into post (id, title, content, content_bytes, content_html,"
+            + " content_hash, render_version, category, created_at, views) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ATTACHMENT = "insert into attachment (id, post_id, filename, content_type, size,"
+            + " sha256, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REVISION = "insert into post_revision (id, post_id, rev, title, keyframe, data,"
+            + " data_size, content_bytes, created_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final PostViewCounter postViewCounter;
+    private final PostShards postShards;
+    private final SnapshotProperties properties;
+
+    @Getter
+    private volatile Duration lastRestoreDuration = Duration.ZERO;
+
+    @Getter
+    private volatile long lastRestoreCount;
+
+    public PostSnapshotService(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                               PlatformTransactionManager transactionManager, PostViewCounter postViewCounter,
+                               PostShards postShards, SnapshotProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postViewCounter = postViewCounter;
+        this.postShards = postShards;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled() || !Files.exists(properties.getPath())) {
+            return;
+        }
+
+        try {
+            // deferred bootstrap 이면 주입된 것은 proxy 이고, 처음 호출할 때 EntityManagerFactory(와 스키마)가 다 만들어질 때까지 기다린다.
+            entityManagerFactory.getMetamodel();
+
+            long existing = countPosts();
+            if (existing > 0) {
+                log.info("skip restoring snapshot, post table already has {} rows", existing);
+                return;
+            }
+
+            restore(properties.getPath());
+        } catch (IOException | RuntimeException e) {
+            // 빈 DB로 뜬 뒤 다음 스냅샷이 이 파일을 덮어쓰지 않도록 옆으로 치워둔다.
+            log.error("failed to restore snapshot {}, starting empty", properties.getPath(), e);
+            quarantine(properties.getPath());
+        }
+    }
+
+    public long restore(Path file) throws IOException {
+        long started = System.nanoTime();
+        long posts = 0L;
+        long attachments = 0L;
+        long revisions = 0L;
+
+        List<Integer> restoredShards = new ArrayList<>(postShards.count());
+        try {
+            for (int shard = 0; shard < postShards.count(); shard++) {
+                int target = shard;
+                Restore restore = postShards.on(shard, () -> transactionTemplate.execute(status -> {
+                    Restore handler = new Restore(target);
+                    try {
+                        PostSnapshotFile.read(file, handler);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    handler.finish();
+                    return handler;
+                }));
+                restoredShards.add(shard);
+
+                posts += restore.posts.count;
+                attachments += restore.attachments.count;
+                revisions += restore.revisions.count;
+            }
+        } catch (RuntimeException e) {
+            restoredShards.forEach(shard -> postShards.run(shard, this::clear));
+            throw e;
+        }
+
+        lastRestoreCount = posts;
+        lastRestoreDuration = Duration.ofNanos(System.nanoTime() - started);
+        log.info("restored {} posts, {} attachments, {} revisions from {} in {}ms", posts, attachments, revisions,
+                file, lastRestoreDuration.toMillis());
+        return posts;
+    }
+
+    @Scheduled(fixedDelayString = "${juwonjulog.snapshot.interval-ms:300000}",
+            initialDelayString = "${juwonjulog.snapshot.interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (properties.isEnabled()) {
+            snapshotQuietly();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownSnapshot() {
+        if (properties.isEnabled()) {
+            snapshotQuietly();
+        }
+    }
+
+    /**
+     * 게시글, 첨부파일, 리비전 순으로 각각 id 순으로 BATCH_SIZE 씩 읽어서 쓴다. 전체 행을 한 번에 메모리에 올리지 않는다.
+     */
+    public synchronized long snapshot(Path file) throws IOException {
+        long started = System.nanoTime();
+        postViewCounter.flush();
+
+        try (PostSnapshotFile.Writer writer = PostSnapshotFile.writer(file)) {
+            long posts = copy(SELECT_POSTS, (rs, rowNum) -> {
+                int renderVersion = rs.getInt("render_version");
+                return PostSnapshotRecord.builder()
+                        .id(rs.getLong("id"))
+                        .title(rs.getString("title"))
+                        .content(rs.getString("content"))
+                        .contentBytes(rs.getLong("content_bytes"))
+                        .contentHtml(rs.getString("content_html"))
+                        .contentHash(rs.getString("content_hash"))
+                        .renderVersion(rs.wasNull() ? null : renderVersion)
+                        .category(rs.getString("category"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .views(rs.getLong("views"))
+                        .build();
+            }, PostSnapshotRecord::getId, writer::write);
+
+            long attachments = copy(SELECT_ATTACHMENTS, (rs, rowNum) -> AttachmentSnapshotRecord.builder()
+                    .id(rs.getLong("id"))
+                    .postId(rs.getLong("post_id"))
+                    .filename(rs.getString("filename"))
+                    .contentType(rs.getString("content_type"))
+                    .size(rs.getLong("size"))
+                    .sha256(rs.getString("sha256"))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .build(), AttachmentSnapshotRecord::getId, writer::write);
+
+            long revisions = copy(SELECT_REVISIONS, (rs, rowNum) -> RevisionSnapshotRecord.builder()
+                    .id(rs.getLong("id"))
+                    .postId(rs.getLong("post_id"))
+                    .rev(rs.getInt("rev"))
+                    .title(rs.getString("title"))
+                    .keyframe(rs.getBoolean("keyframe"))
+                    .data(rs.getBytes("data"))
+                    .contentBytes(rs.getLong("content_bytes"))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .build(), RevisionSnapshotRecord::getId, writer::write);
+            writer.commit();
+
+            log.info("wrote snapshot of {} posts, {} attachments, {} revisions to {} in {}ms", posts, attachments,
+                    revisions, file, (System.nanoTime() - started) / 1_000_000);
+            return posts;
+        }
+    }
+
+    private <T> long copy(String sql, RowMapper<T> rowMapper, ToLongFunction<T> idOf, RecordWriter<T> writer)
+            throws IOException {
+        long count = 0L;
+        for (int shard = 0; shard < postShards.count(); shard++) {
+            long lastId = 0L;
+            while (true) {
+                long from = lastId;
+                List<T> records = postShards.on(shard, () -> jdbcTemplate.query(sql, rowMapper, from, BATCH_SIZE));
+                if (records.isEmpty()) {
+                    break;
+                }
+                for (T record : records) {
+                    writer.write(record);
+                }
+                count += records.size();
+                lastId = idOf.applyAsLong(records.get(records.size() - 1));
+            }
+        }
+        return count;
+    }
+
+    private long countPosts() {
+        long count = 0L;
+        for (int shard = 0; shard < postShards.count(); shard++) {
+            Long rows = postShards.on(shard, () -> jdbcTemplate.queryForObject("select count(*) from post", Long.class));
+            count += rows != null ? rows : 0L;
+        }
+        return count;
+    }
+
+    /**
+     * 복원하다 실패했을 때 먼저 복원한 shard 를 비운다.
+     */
+    private void clear() {
+        jdbcTemplate.update("delete from post_revision");
+        jdbcTemplate.update("delete from attachment");
+        jdbcTemplate.update("delete from post");
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot(properties.getPath());
+        } catch (IOException | RuntimeException e) {
+            log.error("failed to write snapshot {}", properties.getPath(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter<T> {
+
+        void write(T record) throws IOException;
+    }
+
+    /**
+     * 읽은 레코드 중 shard 에 속한 것만 테이블별 batch 로 모아서 넣는다.
+     * 첨부파일과 리비전은 게시글 뒤에 오므로, 처음 만났을 때 남은 게시글 batch 를 먼저 넣어 외래키를 맞춘다.
+     */
+    private class Restore implements PostSnapshotFile.Handler {
+
+        private final int shard;
+        private final InsertBatch posts = new InsertBatch(INSERT_POST);
+        private final InsertBatch attachments = new InsertBatch(INSERT_ATTACHMENT);
+        private final InsertBatch revisions = new InsertBatch(INSERT_REVISION);
+
+        /**
+         * 복원한 게시글 id. shard 별로 id 순으로 들어 있으므로, 스냅샷을 쓸 때와 shard 수가 같으면 정렬된 채로 쌓인다.
+         * shard 수가 바뀌어 순서가 어긋나면 다음에 찾을 때 정렬한다.
+         */
+        private long[] postIds = new long[1024];
+        private boolean sorted = true;
+
+        private Restore(int shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void post(PostSnapshotRecord record) {
+            if (postShards.shardOf(record.getId()) != shard) {
+                return;
+            }
+            if (posts.count == postIds.length) {
+                postIds = Arrays.copyOf(postIds, postIds.length * 2);
+            }
+            if (posts.count > 0 && postIds[(int) posts.count - 1] > record.getId()) {
+                sorted = false;
+            }
+            postIds[(int) posts.count] = record.getId();
+            posts.add(record.getId(), new Object[]{
+                    record.getId(), record.getTitle(), record.getContent(), record.getContentBytes(),
+                    record.getContentHtml(), record.getContentHash(), record.getRenderVersion(),
+                    record.getCategory(), Timestamp.valueOf(record.getCreatedAt()), record.getViews()
+            });
+        }
+
+        @Override
+        public void attachment(AttachmentSnapshotRecord record) {
+            if (restored(record.getPostId())) {
+                attachments.add(record.getId(), new Object[]{
+                        record.getId(), record.getPostId(), record.getFilename(), record.getContentType(),
+                        record.getSize(), record.getSha256(), Timestamp.valueOf(record.getCreatedAt())
+                });
+            }
+        }
+
+        @Override
+        public void revision(RevisionSnapshotRecord record) {
+            if (restored(record.getPostId())) {
+                revisions.add(record.getId(), new Object[]{
+                        record.getId(), record.getPostId(), record.getRev(), record.getTitle(), record.isKeyframe(),
+                        record.getData(), record.getData().length, record.getContentBytes(),
+                        Timestamp.valueOf(record.getCreatedAt())
+                });
+            }
+        }
+
+        private boolean restored(long postId) {
+            posts.flush();
+            if (!sorted) {
+                Arrays.sort(postIds, 0, (int) posts.count);
+                sorted = true;
+            }
+            return Arrays.binarySearch(postIds, 0, (int) posts.count, postId) >= 0;
+        }
+
+        /**
+         * 남은 batch 를 넣고, id 를 직접 넣었으므로 첨부파일과 리비전의 다음 IDENTITY 값을 이 shard 의 최대 id 뒤로 옮긴다.
+         * 게시글 id 는 PostIdGenerator 가 시간으로 만드므로 옮길 것이 없다.
+         */
+        private void finish() {
+            posts.flush();
+            attachments.flush();
+            revisions.flush();
+            jdbcTemplate.execute("alter table attachment alter column id restart with " + (attachments.maxId + 1));
+            jdbcTemplate.execute("alter table post_revision alter column id restart with " + (revisions.maxId + 1));
+        }
+    }
+
+    private class InsertBatch {
+
+        private final String sql;
+        private final List<Object[]> pending = new ArrayList<>(BATCH_SIZE);
+        private long count;
+        private long maxId;
+
+        private InsertBatch(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(long id, Object[] args) {
+            pending.add(args);
+            count++;
+            maxId = Math.max(maxId, id);
+            if (pending.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, pending);
+                pending.clear();
+            }
+        }
+    }
+
+    private static void quarantine(Path file) {
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("failed to move aside snapshot {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.juwonjulog.api.snapshot;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스냅샷 파일에 들어가는 post_revision 행 한 건. delta 사슬을 그대로 복원하도록 data 를 저장된 모양 그대로 넣는다.
+ */
+@Getter
+public class RevisionSnapshotRecord {
+
+    private final long id;
+    private final long postId;
+    private final int rev;
+    private final String title;
+    private final boolean keyframe;
+    private final byte[] data;
+    private final long contentBytes;
+    private final LocalDateTime createdAt;
+
+    @Builder
+    public RevisionSnapshotRecord(long id, long postId, int rev, String title, boolean keyframe, byte[] data,
+                                  long contentBytes, LocalDateTime createdAt) {
+        this.id = id;
+        this.postId = postId;
+        this.rev = rev;
+        this.title = title;
+        this.keyframe = keyframe;
+        this.data = data;
+        this.contentBytes = contentBytes;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.juwonjulog.api.snapshot;
+
+import java.io.IOException;
+
+public class SnapshotCorrupted extends IOException {
+
+    public SnapshotCorrupted(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,82 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.response.FrontPageStatsResponse;
+import com.juwonjulog.api.response.PostResponse;
+import com.juwonjulog.api.service.FrontPageCache;
+import com.juwonjulog.api.service.PostService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 첫 페이지 스냅샷을 다시 만드는 비용과, 스냅샷에서 읽을 때와 DB에서 읽을 때의 getList 시간을 비교한다.
+ * 스냅샷은 글이 바뀔 때마다 한 번 다시 만들어지므로, rebuild 시간이 쓰기 한 건에 더해지는 비용이다.
+ */
+public class FrontPageBenchmark {
+
+    private static volatile long blackhole;
+
+    public static void main(String[] args) {
+        int posts = Integer.parseInt(System.getProperty("benchmark.posts", "100000"));
+        int iterations = Integer.parseInt(System.getProperty("benchmark.iterations", "10000"));
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(JuwonjulogApplication.class,
+                "--server.port=0", "--logging.level.root=WARN")) {
+            PostRepository postRepository = context.getBean(PostRepository.class);
+            for (int from = 0; from < posts; from += 1000) {
+                int start = from;
+                postRepository.saveAll(IntStream.range(start, Math.min(start + 1000, posts))
+                        .mapToObj(i -> Post.builder()
+                                .title("title_" + i)
+                                .content("content_" + i)
+                                .build())
+                        .collect(Collectors.toList()));
+            }
+
+            FrontPageCache frontPageCache = context.getBean(FrontPageCache.class);
+            PostService postService = context.getBean(PostService.class);
+            PostSearch frontPage = PostSearch.builder().page(1).size(5).build();
+
+            for (int i = 0; i < iterations / 10; i++) {
+                frontPageCache.rebuild();
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                frontPageCache.rebuild();
+            }
+            long rebuildNanos = (System.nanoTime() - started) / iterations;
+
+            long cachedNanos = measure(() -> postService.getList(frontPage), iterations);
+            long databaseNanos = measure(() -> postRepository.getList(frontPage).stream()
+                    .map(PostResponse::new)
+                    .collect(Collectors.toList()), iterations);
+
+            FrontPageStatsResponse stats = frontPageCache.getStats();
+            System.out.printf("posts=%,d snapshot=%d posts%n", posts, stats.getPosts());
+            System.out.printf("rebuild: %,d ns/op (max %,d us)%n", rebuildNanos, stats.getMaxRebuildMicros());
+            System.out.printf("getList page 1: snapshot %,d ns/op, database %,d ns/op%n", cachedNanos, databaseNanos);
+        }
+    }
+
+    private static long measure(Supplier<List<PostResponse>> supplier, int iterations) {
+        long sink = 0;
+        for (int i = 0; i < iterations / 10; i++) {
+            sink += supplier.get().size();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += supplier.get().size();
+        }
+        long elapsed = (System.nanoTime() - started) / iterations;
+        blackhole = sink;
+        return elapsed;
+    }
+}
@@ -0,0 +1,159 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.config.JfrProperties;
+import com.juwonjulog.api.diagnostics.SlowRequestRecorder;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import jdk.jfr.Recording;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * SlowRequestRecorder 와 같은 설정의 JFR 기록을 켠 상태와 끈 상태에서 HTTP 처리량을 번갈아 재서 오버헤드를 비교한다.
+ * 앱은 한 번만 띄우고 라운드마다 기록만 시작/종료하므로, 두 상태가 같은 JIT 상태와 같은 데이터를 본다.
+ * 요청은 상세 조회 4 : 목록 조회 1 로 섞어서 RequestEvent, ServiceCallEvent, QueryEvent 가 모두 남게 한다.
+ */
+public class JfrOverheadBenchmark {
+
+    private static final double TARGET_PERCENT = 1.0;
+    private static final long SETTLE_SECONDS = 2L;
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.parseInt(System.getProperty("benchmark.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 2)));
+        int posts = Integer.parseInt(System.getProperty("benchmark.posts", "10000"));
+        int rounds = Integer.parseInt(System.getProperty("benchmark.rounds", "5"));
+        long roundSeconds = Long.parseLong(System.getProperty("benchmark.round-seconds", "10"));
+        long warmupSeconds = Long.parseLong(System.getProperty("benchmark.warmup-seconds", "20"));
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(JuwonjulogApplication.class,
+                "--server.port=0", "--logging.level.root=WARN", "--juwonjulog.jfr.enabled=false")) {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            List<Long> ids = seed(context.getBean(PostRepository.class), posts);
+            JfrProperties properties = context.getBean(JfrProperties.class);
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String baseUrl = "http://localhost:" + port;
+
+            System.out.printf("warming up for %ds (%d threads, %,d posts)%n", warmupSeconds, threads, posts);
+            run(client, baseUrl, ids, threads, warmupSeconds);
+            runRecorded(properties, client, baseUrl, ids, threads, warmupSeconds / 2);
+
+            double[] with = new double[rounds];
+            double[] without = new double[rounds];
+            for (int round = 0; round < rounds; round++) {
+                // 처리량이 시간에 따라 조금씩 변해도 한쪽만 손해 보지 않도록 라운드마다 재는 순서를 바꾼다.
+                if (round % 2 == 0) {
+                    without[round] = run(client, baseUrl, ids, threads, roundSeconds) / (double) roundSeconds;
+                    with[round] = runRecorded(properties, client, baseUrl, ids, threads, roundSeconds);
+                } else {
+                    with[round] = runRecorded(properties, client, baseUrl, ids, threads, roundSeconds);
+                    without[round] = run(client, baseUrl, ids, threads, roundSeconds) / (double) roundSeconds;
+                }
+                System.out.printf("round %d: with JFR %,.0f req/s, without JFR %,.0f req/s%n",
+                        round + 1, with[round], without[round]);
+            }
+
+            double withMedian = median(with);
+            double withoutMedian = median(without);
+            double overhead = (withoutMedian - withMedian) / withoutMedian * 100;
+            System.out.printf("median: with JFR %,.0f req/s, without JFR %,.0f req/s, overhead %+.2f%% (target < %.0f%%)%n",
+                    withMedian, withoutMedian, overhead, TARGET_PERCENT);
+            if (overhead >= TARGET_PERCENT) {
+                System.out.println("overhead is above the target, rerun with more rounds before trusting a single run");
+            }
+        }
+        System.exit(0);
+    }
+
+    private static double runRecorded(JfrProperties properties, HttpClient client, String baseUrl, List<Long> ids,
+                                      int threads, long seconds) throws Exception {
+        try (Recording recording = SlowRequestRecorder.newRingBuffer(properties)) {
+            recording.start();
+            // 서비스에서는 기록이 계속 켜져 있으므로, 기록을 시작하는 순간의 비용은 빼고 잰다.
+            run(client, baseUrl, ids, threads, SETTLE_SECONDS);
+            return run(client, baseUrl, ids, threads, seconds) / (double) seconds;
+        }
+    }
+
+    private static List<Long> seed(PostRepository postRepository, int posts) {
+        List<Long> ids = new ArrayList<>(posts);
+        for (int from = 0; from < posts; from += 1000) {
+            int start = from;
+            postRepository.saveAll(IntStream.range(start, Math.min(start + 1000, posts))
+                            .mapToObj(i -> Post.builder()
+                                    .title("title_" + i)
+                                    .content("content_" + i)
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .forEach(post -> ids.add(post.getId()));
+        }
+        return ids;
+    }
+
+    /**
+     * closed model 로 스레드마다 응답을 받으면 다음 요청을 보내면서 seconds 동안 돌리고, 성공한 요청 수를 돌려준다.
+     */
+    private static long run(HttpClient client, String baseUrl, List<Long> ids, int threads, long seconds)
+            throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    String path = random.nextInt(5) == 0
+                            ? "/posts?page=" + (random.nextInt(100) + 1) + "&size=10"
+                            : "/posts/" + ids.get(random.nextInt(ids.size()));
+                    try {
+                        HttpResponse<byte[]> response = client.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() == 200) {
+                            count++;
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+                completed.addAndGet(count);
+                done.countDown();
+            }).start();
+        }
+
+        done.await();
+        if (failed.get() > 0) {
+            System.out.printf("  %,d requests failed%n", failed.get());
+        }
+        return completed.get();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
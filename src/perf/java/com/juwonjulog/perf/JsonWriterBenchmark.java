@@ -0,0 +1,169 @@
+package com.juwonjulog.perf;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.juwonjulog.api.json.JsonBufferPool;
+import com.juwonjulog.api.json.ResponseJsonHttpMessageConverter;
+import com.juwonjulog.api.response.ErrorResponse;
+import com.juwonjulog.api.response.PostResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 응답을 Jackson 컨버터와 ResponseJsonHttpMessageConverter 로 쓸 때의 처리량을 비교한다.
+ * 응답 하나당 할당 바이트는 -prof gc 의 gc.alloc.rate.norm 으로 본다. 출력은 버리고 바이트 수만 센다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonWriterBenchmark {
+
+    private static final Type POST_LIST = new ParameterizedTypeReference<List<PostResponse>>() {
+    }.getType();
+
+    /**
+     * 목록 한 페이지의 글 수.
+     */
+    @Param({"5", "100"})
+    public int size;
+
+    /**
+     * 글 본문 길이(문자 수).
+     */
+    @Param({"200", "4000"})
+    public int contentLength;
+
+    private GenericHttpMessageConverter<Object> jackson;
+    private GenericHttpMessageConverter<Object> streaming;
+    private List<PostResponse> posts;
+    private ErrorResponse error;
+    private final Sink sink = new Sink();
+
+    @Setup
+    public void setUp() {
+        // Spring Boot 의 기본 ObjectMapper 처럼 날짜를 문자열로 쓴다.
+        jackson = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        streaming = new ResponseJsonHttpMessageConverter(new JsonBufferPool(16 * 1024, 64));
+
+        String content = IntStream.range(0, contentLength)
+                .mapToObj(i -> i % 40 == 39 ? "\n" : i % 3 == 0 ? "글" : "a")
+                .collect(Collectors.joining());
+        posts = IntStream.range(0, size)
+                .mapToObj(i -> PostResponse.builder()
+                        .id((long) i)
+                        .title("제목 " + i)
+                        .content(content)
+                        .contentHtml("<p>" + content + "</p>")
+                        .category("개발")
+                        .createdAt(LocalDateTime.of(2022, 6, 2, 23, 0).plusSeconds(i))
+                        .views(i * 7L)
+                        .build())
+                .collect(Collectors.toList());
+
+        error = ErrorResponse.builder()
+                .code("400")
+                .message("잘못된 요청입니다.")
+                .build();
+        error.addValidation("title", "타이틀을 입력해주세요.");
+        error.addValidation("content", "내용을 입력해주세요.");
+    }
+
+    @Benchmark
+    public long jacksonList() throws IOException {
+        return write(jackson, posts, POST_LIST);
+    }
+
+    @Benchmark
+    public long streamingList() throws IOException {
+        return write(streaming, posts, POST_LIST);
+    }
+
+    @Benchmark
+    public long jacksonPost() throws IOException {
+        return write(jackson, posts.get(0), PostResponse.class);
+    }
+
+    @Benchmark
+    public long streamingPost() throws IOException {
+        return write(streaming, posts.get(0), PostResponse.class);
+    }
+
+    @Benchmark
+    public long jacksonError() throws IOException {
+        return write(jackson, error, ErrorResponse.class);
+    }
+
+    @Benchmark
+    public long streamingError() throws IOException {
+        return write(streaming, error, ErrorResponse.class);
+    }
+
+    private long write(GenericHttpMessageConverter<Object> converter, Object value, Type type) throws IOException {
+        sink.reset();
+        converter.write(value, type, MediaType.APPLICATION_JSON, sink);
+        return sink.count;
+    }
+
+    /**
+     * 응답 본문을 버리는 HttpOutputMessage. 헤더는 매번 비워서 두 컨버터가 같은 일을 하게 한다.
+     */
+    private static class Sink extends OutputStream implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private long count;
+
+        void reset() {
+            headers.clear();
+            count = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 앱을 랜덤 포트로 띄우고 게시글 N개를 넣은 뒤, 목표 처리량(open model)으로 list/detail/write/edit/delete 를 섞어 호출한다.
+ * 응답을 기다리지 않고 정해진 시각마다 요청을 보내므로, 서버가 밀려도 요청 속도가 줄지 않는다.
+ */
+public class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final PostIds postIds;
+
+    private LoadTest(LoadTestConfig config, int port, List<Long> seededIds) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = "http://localhost:" + port;
+        this.postIds = new PostIds(seededIds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext context = SpringApplication.run(JuwonjulogApplication.class,
+                "--server.port=0", "--logging.level.root=WARN");
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            List<Long> seededIds = seed(context.getBean(PostRepository.class), config.posts);
+
+            LoadTest loadTest = new LoadTest(config, port, seededIds);
+
+            System.out.printf("warming up for %ds at %.0f req/s%n", config.warmup.getSeconds(), config.rate);
+            loadTest.run(config.warmup, new LoadTestResults());
+
+            System.out.printf("measuring for %ds at %.0f req/s%n", config.duration.getSeconds(), config.rate);
+            LoadTestResults results = new LoadTestResults();
+            Duration elapsed = loadTest.run(config.duration, results);
+
+            LoadTestReport report = new LoadTestReport(config, results, elapsed);
+            report.write();
+            System.out.print(report.consoleSummary());
+            System.out.println("report written to " + config.reportDir.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+        System.exit(0);
+    }
+
+    private static List<Long> seed(PostRepository postRepository, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_BATCH_SIZE) {
+            List<Post> posts = IntStream.range(from, Math.min(from + SEED_BATCH_SIZE, count))
+                    .mapToObj(i -> Post.builder()
+                            .title("title_" + i)
+                            .content("content_" + i)
+                            .build())
+                    .collect(Collectors.toList());
+
+            postRepository.saveAll(posts).forEach(post -> ids.add(post.getId()));
+        }
+        return ids;
+    }
+
+    private Duration run(Duration duration, LoadTestResults results) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        AtomicLong inFlight = new AtomicLong();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            Operation operation = nextOperation();
+            HttpRequest request = request(operation);
+            if (request == null) {
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean success = error == null && response.statusCode() < 400;
+                        results.record(operation, System.nanoTime() - intendedStart, success);
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(config.totalWeight());
+        for (Map.Entry<Operation, Integer> entry : config.mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty operation mix");
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case LIST: {
+                int pages = Math.max(1, config.posts / config.pageSize);
+                int page = 1 + random.nextInt(Math.min(pages, 10));
+                return get("/posts?page=" + page + "&size=" + config.pageSize);
+            }
+            case DETAIL: {
+                Long id = postIds.random();
+                return id == null ? null : get("/posts/" + id);
+            }
+            case WRITE:
+                return json("/posts", "POST", "{\"title\":\"load test\",\"content\":\"content " + random.nextLong() + "\"}");
+            case EDIT: {
+                Long id = postIds.random();
+                return id == null ? null
+                        : json("/posts/" + id, "PATCH", "{\"title\":\"edited\",\"content\":\"edited " + random.nextLong() + "\"}");
+            }
+            case DELETE: {
+                Long id = postIds.take();
+                return id == null ? null : builder("/posts/" + id).DELETE().build();
+            }
+            default:
+                throw new IllegalArgumentException("unknown operation: " + operation);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest json(String path, String method, String body) {
+        return builder(path)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    /**
+     * detail/edit 대상 id 를 고르고, delete 한 id 는 다시 고르지 않도록 뺀다.
+     */
+    private static final class PostIds {
+
+        private final List<Long> ids;
+
+        private PostIds(List<Long> ids) {
+            this.ids = new ArrayList<>(ids);
+        }
+
+        synchronized Long random() {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        synchronized Long take() {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.juwonjulog.perf;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * -DloadTest.* 시스템 프로퍼티로 받는 부하 테스트 설정.
+ *
+ * <pre>
+ * ./gradlew loadTest -DloadTest.posts=10000 -DloadTest.rate=500 -DloadTest.duration=60s \
+ *     -DloadTest.mix=list=50,detail=35,write=5,edit=5,delete=5
+ * </pre>
+ */
+final class LoadTestConfig {
+
+    final int posts;
+    final double rate;
+    final Duration warmup;
+    final Duration duration;
+    final int pageSize;
+    final Map<Operation, Integer> mix;
+    final Path reportDir;
+
+    private LoadTestConfig(int posts, double rate, Duration warmup, Duration duration, int pageSize,
+                           Map<Operation, Integer> mix, Path reportDir) {
+        this.posts = posts;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.pageSize = pageSize;
+        this.mix = mix;
+        this.reportDir = reportDir;
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.parseInt(property("posts", "1000")),
+                Double.parseDouble(property("rate", "200")),
+                parseDuration(property("warmup", "10s")),
+                parseDuration(property("duration", "30s")),
+                Integer.parseInt(property("pageSize", "10")),
+                parseMix(property("mix", "list=50,detail=35,write=5,edit=5,delete=5")),
+                Paths.get(property("reportDir", "build/reports/load-test")));
+    }
+
+    int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadTest." + name, defaultValue);
+    }
+
+    private static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        if (trimmed.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        if (trimmed.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(trimmed));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("weight must not be negative: " + entry);
+            }
+            mix.put(Operation.of(pair[0].trim()), weight);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,153 @@
+package com.juwonjulog.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과를 report.json / report.html 과 operation 별 .hgrm 파일로 남긴다.
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestConfig config;
+    private final LoadTestResults results;
+    private final Duration elapsed;
+
+    LoadTestReport(LoadTestConfig config, LoadTestResults results, Duration elapsed) {
+        this.config = config;
+        this.results = results;
+        this.elapsed = elapsed;
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(config.reportDir);
+
+        Map<String, Object> summary = summary();
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(config.reportDir.resolve("report.json").toFile(), summary);
+
+        for (Operation operation : Operation.values()) {
+            Files.write(config.reportDir.resolve(operation.key() + ".hgrm"),
+                    percentileDistribution(results.histogram(operation)).getBytes(StandardCharsets.UTF_8));
+        }
+
+        Files.write(config.reportDir.resolve("report.html"), html(summary).getBytes(StandardCharsets.UTF_8));
+    }
+
+    String consoleSummary() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "rps", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (Operation operation : Operation.values()) {
+            appendRow(builder, operation.key(), results.histogram(operation), results.errors(operation));
+        }
+        appendRow(builder, "total", results.total(), results.totalErrors());
+        return builder.toString();
+    }
+
+    private void appendRow(StringBuilder builder, String name, Histogram histogram, long errors) {
+        builder.append(String.format("%-8s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+                name, histogram.getTotalCount(), errors, throughput(histogram),
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private Map<String, Object> summary() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("posts", config.posts);
+        settings.put("targetRate", config.rate);
+        settings.put("warmupSeconds", config.warmup.getSeconds());
+        settings.put("durationSeconds", config.duration.getSeconds());
+        settings.put("pageSize", config.pageSize);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix.forEach((operation, weight) -> mix.put(operation.key(), weight));
+        settings.put("mix", mix);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            operations.put(operation.key(), stats(results.histogram(operation), results.errors(operation)));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("settings", settings);
+        summary.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        summary.put("total", stats(results.total(), results.totalErrors()));
+        summary.put("operations", operations);
+        return summary;
+    }
+
+    private Map<String, Object> stats(Histogram histogram, long errors) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        stats.put("errors", errors);
+        stats.put("throughput", throughput(histogram));
+        stats.put("p50Ms", millis(histogram.getValueAtPercentile(50.0)));
+        stats.put("p90Ms", millis(histogram.getValueAtPercentile(90.0)));
+        stats.put("p99Ms", millis(histogram.getValueAtPercentile(99.0)));
+        stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        stats.put("maxMs", millis(histogram.getMaxValue()));
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String html(Map<String, Object> summary) {
+        StringBuilder rows = new StringBuilder();
+        Map<String, Object> operations = (Map<String, Object>) summary.get("operations");
+        operations.forEach((name, stats) -> rows.append(htmlRow(name, (Map<String, Object>) stats)));
+        rows.append(htmlRow("total", (Map<String, Object>) summary.get("total")));
+
+        StringBuilder distributions = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            distributions.append("<h2>").append(operation.key()).append("</h2>\n<pre>")
+                    .append(percentileDistribution(results.histogram(operation)))
+                    .append("</pre>\n");
+        }
+
+        return "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>juwonjulog load test</title>\n"
+                + "<style>body{font-family:sans-serif}td,th{padding:4px 12px;text-align:right}</style>\n"
+                + "</head>\n<body>\n<h1>juwonjulog load test</h1>\n"
+                + "<p>settings: " + summary.get("settings") + "</p>\n"
+                + "<p>elapsed: " + summary.get("elapsedSeconds") + "s (latencies are coordinated-omission corrected)</p>\n"
+                + "<table>\n<tr><th>op</th><th>count</th><th>errors</th><th>rps</th>"
+                + "<th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p999 ms</th><th>max ms</th></tr>\n"
+                + rows
+                + "</table>\n"
+                + distributions
+                + "</body>\n</html>\n";
+    }
+
+    private String htmlRow(String name, Map<String, Object> stats) {
+        StringBuilder row = new StringBuilder("<tr><th>").append(name).append("</th>");
+        for (String key : new String[]{"count", "errors", "throughput", "p50Ms", "p90Ms", "p99Ms", "p999Ms", "maxMs"}) {
+            row.append("<td>").append(stats.get(key)).append("</td>");
+        }
+        return row.append("</tr>\n").toString();
+    }
+
+    private String percentileDistribution(Histogram histogram) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        histogram.outputPercentileDistribution(new PrintStream(out, true, StandardCharsets.UTF_8), MICROS_PER_MILLI);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private double throughput(Histogram histogram) {
+        return histogram.getTotalCount() / (elapsed.toMillis() / 1000.0);
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
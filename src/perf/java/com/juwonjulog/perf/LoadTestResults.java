@@ -0,0 +1,59 @@
+package com.juwonjulog.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청별 지연시간을 마이크로초 단위 HdrHistogram 에 기록한다.
+ * 지연시간은 요청이 "보내졌어야 하는" 시각부터 재기 때문에 coordinated omission 이 보정된 값이다.
+ */
+final class LoadTestResults {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Histogram total = newHistogram();
+
+    LoadTestResults() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, newHistogram());
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(micros);
+        total.recordValue(micros);
+        if (!success) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    Histogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).get();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+}
@@ -0,0 +1,32 @@
+package com.juwonjulog.perf;
+
+/**
+ * 부하 테스트에서 섞어서 호출하는 API 종류.
+ */
+enum Operation {
+
+    LIST("list"),
+    DETAIL("detail"),
+    WRITE("write"),
+    EDIT("edit"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("unknown operation: " + key);
+    }
+}
@@ -0,0 +1,116 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostCreate;
+import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.response.PostRevisionResponse;
+import com.juwonjulog.api.service.PostRevisionService;
+import com.juwonjulog.api.service.PostService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 큰 글을 조금씩 여러 번 고치면서 리비전 하나가 차지하는 저장 크기를 본문 전체를 복사할 때와 비교하고,
+ * 캐시 없이 리비전을 다시 만드는 시간을 잰다.
+ */
+public class RevisionStorageBenchmark {
+
+    private static volatile long blackhole;
+
+    public static void main(String[] args) {
+        int contentKb = Integer.parseInt(System.getProperty("benchmark.content-kb", "32"));
+        int edits = Integer.parseInt(System.getProperty("benchmark.edits", "200"));
+        int keyframeInterval = Integer.parseInt(System.getProperty("benchmark.keyframe-interval", "10"));
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(JuwonjulogApplication.class,
+                "--server.port=0", "--logging.level.root=WARN",
+                "--juwonjulog.revisions.keyframe-interval=" + keyframeInterval,
+                "--juwonjulog.revisions.cache-size=0")) {
+            PostService postService = context.getBean(PostService.class);
+            PostRevisionService postRevisionService = context.getBean(PostRevisionService.class);
+            PostRepository postRepository = context.getBean(PostRepository.class);
+
+            Random random = new Random(42);
+            StringBuilder content = new StringBuilder();
+            while (content.length() < contentKb * 1024) {
+                content.append("## 문단 ").append(content.length()).append('\n')
+                        .append("마크다운 본문이 이어지는 줄입니다. 숫자 ").append(random.nextInt(100000)).append("\n\n");
+            }
+
+            postService.write(PostCreate.builder()
+                    .title("리비전 벤치마크")
+                    .content(content.toString())
+                    .build());
+            Post post = postRepository.findAll().get(0);
+
+            long editNanos = 0L;
+            for (int i = 0; i < edits; i++) {
+                edit(content, random);
+                long started = System.nanoTime();
+                postService.edit(post.getId(), PostEdit.builder()
+                        .title("리비전 벤치마크")
+                        .content(content.toString())
+                        .build());
+                editNanos += System.nanoTime() - started;
+            }
+
+            List<PostRevisionResponse> revisions = postRevisionService.getList(post.getId());
+            long stored = 0L;
+            long full = 0L;
+            long keyframes = 0L;
+            long keyframeBytes = 0L;
+            for (PostRevisionResponse revision : revisions) {
+                stored += revision.getStoredBytes();
+                full += revision.getContentBytes();
+                if (revision.getKeyframe()) {
+                    keyframes++;
+                    keyframeBytes += revision.getStoredBytes();
+                }
+            }
+            long deltas = revisions.size() - keyframes;
+
+            long[] rebuildNanos = new long[revisions.size()];
+            long sink = 0L;
+            for (int rev = 1; rev <= revisions.size(); rev++) {
+                long started = System.nanoTime();
+                sink += postRevisionService.get(post.getId(), rev).getContent().length();
+                rebuildNanos[rev - 1] = System.nanoTime() - started;
+            }
+            blackhole = sink;
+            Arrays.sort(rebuildNanos);
+
+            System.out.printf("revisions=%,d content=%,d bytes keyframe-interval=%d%n",
+                    revisions.size(), full / revisions.size(), keyframeInterval);
+            System.out.printf("stored: %,d bytes/revision (keyframe %,d, delta %,d), full copies %,d bytes/revision (%.1fx)%n",
+                    stored / revisions.size(), keyframeBytes / Math.max(keyframes, 1),
+                    (stored - keyframeBytes) / Math.max(deltas, 1), full / revisions.size(), (double) full / stored);
+            System.out.printf("edit: %,d us/op%n", editNanos / edits / 1000);
+            System.out.printf("uncached reconstruction: p50 %,d us, max %,d us%n",
+                    rebuildNanos[rebuildNanos.length / 2] / 1000, rebuildNanos[rebuildNanos.length - 1] / 1000);
+        }
+    }
+
+    /**
+     * 글의 한 곳을 조금 고친다. 한 줄을 넣거나, 몇 글자를 지우거나, 끝에 덧붙인다.
+     */
+    private static void edit(StringBuilder content, Random random) {
+        int position = random.nextInt(content.length());
+        switch (random.nextInt(3)) {
+            case 0:
+                content.insert(position, "\n고친 문장 " + random.nextInt(1000) + "\n");
+                break;
+            case 1:
+                content.delete(position, Math.min(content.length(), position + 1 + random.nextInt(40)));
+                break;
+            default:
+                content.append("\n덧붙인 줄 ").append(random.nextInt(1000));
+                break;
+        }
+    }
+}
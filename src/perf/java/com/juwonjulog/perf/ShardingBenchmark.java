@@ -0,0 +1,115 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.service.PostService;
+import com.juwonjulog.api.shard.PostShards;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 글과 같은 부하(단건 조회 80%, 목록 1~5페이지 20%)를 DB 하나와 H2 shard 여러 개에 주고 처리량을 비교한다.
+ * shard 마다 커넥션 풀이 따로 있으므로, 차이는 대부분 커넥션 경합과 목록 조회의 scatter/merge 비용에서 나온다.
+ */
+public class ShardingBenchmark {
+
+    private static volatile long blackhole;
+
+    public static void main(String[] args) throws Exception {
+        int posts = Integer.parseInt(System.getProperty("benchmark.posts", "100000"));
+        int shards = Integer.parseInt(System.getProperty("benchmark.shards", "4"));
+        int threads = Integer.parseInt(System.getProperty("benchmark.threads", "16"));
+        int seconds = Integer.parseInt(System.getProperty("benchmark.seconds", "10"));
+
+        double single = run(posts, 1, threads, seconds);
+        double sharded = run(posts, shards, threads, seconds);
+        System.out.printf("posts=%,d threads=%d%n", posts, threads);
+        System.out.printf("single database: %,.0f ops/s%n", single);
+        System.out.printf("%d shards: %,.0f ops/s (%.2fx)%n", shards, sharded, sharded / single);
+    }
+
+    private static double run(int posts, int shards, int threads, int seconds) throws Exception {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--logging.level.root=WARN",
+                "--juwonjulog.sharding.enabled=" + (shards > 1)));
+        String name = UUID.randomUUID().toString();
+        for (int shard = 0; shard < shards; shard++) {
+            args.add("--juwonjulog.sharding.urls[" + shard + "]=jdbc:h2:mem:" + name + "-" + shard
+                    + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        }
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(JuwonjulogApplication.class,
+                args.toArray(String[]::new))) {
+            PostRepository postRepository = context.getBean(PostRepository.class);
+            PostShards postShards = context.getBean(PostShards.class);
+            PostService postService = context.getBean(PostService.class);
+
+            List<Long> ids = new ArrayList<>(posts);
+            for (int from = 0; from < posts; from += 1000) {
+                int start = from;
+                List<Post> batch = IntStream.range(start, Math.min(start + 1000, posts))
+                        .mapToObj(i -> Post.builder()
+                                .title("title_" + i)
+                                .content("content_" + i)
+                                .build())
+                        .collect(Collectors.toList());
+                postShards.on(postShards.nextShard(), () -> postRepository.saveAll(batch))
+                        .forEach(post -> ids.add(post.getId()));
+            }
+
+            workload(postService, postRepository, ids, threads, seconds / 5);
+            return workload(postService, postRepository, ids, threads, seconds);
+        }
+    }
+
+    private static double workload(PostService postService, PostRepository postRepository, List<Long> ids,
+                                   int threads, int seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long ops = 0;
+                    long sink = 0;
+                    while (System.nanoTime() < deadline) {
+                        if (random.nextInt(10) < 8) {
+                            sink += postService.get(ids.get(random.nextInt(ids.size()))).getTitle().length();
+                        } else {
+                            sink += postRepository.getList(PostSearch.builder()
+                                    .page(random.nextInt(1, 6))
+                                    .size(10)
+                                    .build()).size();
+                        }
+                        ops++;
+                    }
+                    return new long[]{ops, sink};
+                }));
+            }
+
+            long ops = 0;
+            long sink = 0;
+            for (Future<long[]> future : futures) {
+                long[] result = future.get();
+                ops += result[0];
+                sink += result[1];
+            }
+            blackhole = sink;
+            return ops / (double) Math.max(seconds, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
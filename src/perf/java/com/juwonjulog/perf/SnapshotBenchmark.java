@@ -0,0 +1,183 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.service.PostService;
+import com.juwonjulog.api.service.RelatedPostIndex;
+import com.juwonjulog.api.service.TitleSuggestIndex;
+import com.juwonjulog.api.snapshot.PostSnapshotService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 N 개(기본 100만)를 기동 시에 되살리는 두 방법의 시간을 비교한다.
+ *
+ * <ul>
+ *     <li>snapshot: 스냅샷을 켠 채로 기동해서 웹 서버가 뜨기 전에 스냅샷을 복원</li>
+ *     <li>jpa: 빈 DB로 기동한 뒤 PostRepository.saveAll 로 같은 글을 다시 넣음</li>
+ * </ul>
+ *
+ * 두 경우 모두 DB는 서로 다른 in-memory H2 이고, 기동 시간은 SpringApplication.run 이 끝날 때까지다.
+ * 글마다 리비전 하나, 10개마다 첨부파일 하나를 같이 넣어 스냅샷에 들어가게 한다.
+ *
+ * <p>스냅샷으로 기동한 뒤에는 스냅샷에 넣지 않는 것들을 다시 만드는 시간도 잰다.
+ * 기동 후 PostIndexLoader 가 관련 글/자동완성 인덱스를 끝까지 만드는 데 걸린 시간과, 첫 페이지 목록을 처음 읽는 시간이다.</p>
+ */
+public class SnapshotBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int posts = Integer.parseInt(System.getProperty("benchmark.posts", "1000000"));
+        Path snapshot = Files.createTempDirectory("juwonjulog-snapshot").resolve("posts.snap");
+
+        try (ConfigurableApplicationContext context = start(false, snapshot)) {
+            seed(context.getBean(JdbcTemplate.class), posts);
+
+            long started = System.nanoTime();
+            context.getBean(PostSnapshotService.class).snapshot(snapshot);
+            System.out.printf("snapshot write: %,d posts, %,d bytes (%.1f bytes/post) in %dms%n",
+                    posts, Files.size(snapshot), Files.size(snapshot) / (double) posts, millisSince(started));
+        }
+
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(true, snapshot)) {
+            long bootMillis = millisSince(started);
+            PostSnapshotService service = context.getBean(PostSnapshotService.class);
+            System.out.printf("snapshot restore: boot %dms (restore %dms for %,d posts)%n",
+                    bootMillis, service.getLastRestoreDuration().toMillis(), service.getLastRestoreCount());
+
+            long indexMillis = awaitIndexed(context, posts);
+            long listStarted = System.nanoTime();
+            context.getBean(PostService.class).getList(PostSearch.builder().build());
+            System.out.printf("after restore: indexes rebuilt %dms after ready, first page list %dms%n",
+                    indexMillis, millisSince(listStarted));
+        }
+
+        started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(false, snapshot)) {
+            long bootMillis = millisSince(started);
+            long insertStarted = System.nanoTime();
+            reinsert(context, posts);
+            long insertMillis = millisSince(insertStarted);
+            System.out.printf("jpa re-insertion: boot %dms + insert %dms = %dms%n",
+                    bootMillis, insertMillis, bootMillis + insertMillis);
+        }
+
+        Files.deleteIfExists(snapshot);
+    }
+
+    private static ConfigurableApplicationContext start(boolean restore, Path snapshot) {
+        return SpringApplication.run(JuwonjulogApplication.class,
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.juwonjulog.api.snapshot=INFO",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID(),
+                "--juwonjulog.snapshot.enabled=" + restore,
+                "--juwonjulog.snapshot.path=" + snapshot,
+                // 측정 중에 주기 스냅샷이 돌지 않게 한다.
+                "--juwonjulog.snapshot.interval-ms=" + TimeUnit.DAYS.toMillis(1));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int posts) {
+        // 글 id 는 1 부터 posts 까지 직접 넣는다.
+        String insert = "insert into post (id, title, content, content_bytes, content_html, content_hash, render_version,"
+                + " category, created_at, views) values (?, ?, ?, ?, ?, ?, 1, ?, ?, 0)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < posts; i++) {
+            String content = content(i);
+            batch.add(new Object[]{i + 1L, "title_" + i, content, (long) content.getBytes(StandardCharsets.UTF_8).length, "<p>" + content + "</p>\n",
+                    Integer.toHexString(content.hashCode()), "category_" + (i % 10), Timestamp.valueOf(LocalDateTime.now())});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, batch);
+        }
+
+        String insertRevision = "insert into post_revision (post_id, rev, title, keyframe, data, data_size, content_bytes,"
+                + " created_at) values (?, 1, ?, true, ?, ?, ?, ?)";
+        String insertAttachment = "insert into attachment (post_id, filename, content_type, size, sha256, created_at)"
+                + " values (?, ?, 'image/png', 1024, ?, ?)";
+        List<Object[]> revisions = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> attachments = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < posts; i++) {
+            byte[] data = content(i).getBytes(StandardCharsets.UTF_8);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            revisions.add(new Object[]{i + 1L, "title_" + i, data, data.length, (long) data.length, now});
+            if (i % 10 == 0) {
+                attachments.add(new Object[]{i + 1L, "image_" + i + ".png", String.format("%064x", i), now});
+            }
+            if (revisions.size() == BATCH_SIZE || i == posts - 1) {
+                jdbcTemplate.batchUpdate(insertRevision, revisions);
+                revisions.clear();
+                if (!attachments.isEmpty()) {
+                    jdbcTemplate.batchUpdate(insertAttachment, attachments);
+                    attachments.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * PostIndexLoader 는 id 순으로 넣으므로 마지막 id 가 두 인덱스에 들어가면 끝난 것이다.
+     */
+    private static long awaitIndexed(ConfigurableApplicationContext context, long lastId) throws InterruptedException {
+        long started = System.nanoTime();
+        RelatedPostIndex relatedPostIndex = context.getBean(RelatedPostIndex.class);
+        TitleSuggestIndex titleSuggestIndex = context.getBean(TitleSuggestIndex.class);
+        while (!relatedPostIndex.contains(lastId) || !titleSuggestIndex.contains(lastId)) {
+            Thread.sleep(10);
+        }
+        return millisSince(started);
+    }
+
+    private static void reinsert(ConfigurableApplicationContext context, int posts) {
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        for (int from = 0; from < posts; from += BATCH_SIZE) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Post> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = start; i < Math.min(start + BATCH_SIZE, posts); i++) {
+                    batch.add(Post.builder()
+                            .title("title_" + i)
+                            .content(content(i))
+                            .category("category_" + (i % 10))
+                            .build());
+                }
+                postRepository.saveAll(batch);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private static String content(int i) {
+        return "content_" + i + " 게시글 본문입니다. 스냅샷 복원과 JPA 재삽입의 기동 시간을 비교하기 위한 글.";
+    }
+
+    private static long millisSince(long started) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+}
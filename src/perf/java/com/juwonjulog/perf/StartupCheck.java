@@ -0,0 +1,157 @@
+package com.juwonjulog.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cdsArchive 로 만든 AppCDS 아카이브와 fast-startup 프로파일로 앱을 별도 프로세스로 여러 번 띄우고,
+ * 프로세스 시작부터 GET /posts?page=1&size=10 이 처음 200 을 돌려줄 때까지의 시간을 잰다.
+ *
+ * <p>중앙값을 저장소에 커밋된 기준값(startup.baseline)과 비교해서 startup.max-growth(기본 20%) 넘게 늘면 1 로 끝난다.
+ * 기준값 파일이 없어도 1 로 끝난다. 기준값을 새로 기록하거나 다시 기록할 때만 startup.record-baseline=true 로 돌리고,
+ * 바뀐 파일을 기동이 느려진 변경과 같이 커밋한다.</p>
+ */
+public class StartupCheck {
+
+    private static final String MAIN_CLASS = "com.juwonjulog.api.JuwonjulogApplication";
+    private static final long POLL_INTERVAL_MS = 10L;
+
+    public static void main(String[] args) throws Exception {
+        File dir = new File(System.getProperty("startup.dir", "build/cds"));
+        File archive = new File(dir, System.getProperty("startup.archive", "juwonjulog.jsa"));
+        File classpathArgs = new File(dir, "classpath.args");
+        String java = System.getProperty("startup.java",
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "3"));
+        Path baseline = Paths.get(System.getProperty("startup.baseline", "src/perf/startup-baseline.txt"));
+        boolean recordBaseline = Boolean.parseBoolean(System.getProperty("startup.record-baseline", "false"));
+        double maxGrowth = Double.parseDouble(System.getProperty("startup.max-growth", "0.2"));
+        long timeoutMs = Long.parseLong(System.getProperty("startup.timeout-ms", "60000"));
+
+        if (!archive.isFile() || !classpathArgs.isFile()) {
+            System.err.printf("missing %s or %s, run cdsArchive first%n", archive, classpathArgs);
+            System.exit(1);
+        }
+
+        long[] firstRequestMs = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            int port = freePort();
+            int diagnosticsPort = freePort();
+            List<String> command = new ArrayList<>(List.of(
+                    java,
+                    "-XX:SharedArchiveFile=" + archive.getPath(),
+                    "@" + classpathArgs.getPath(),
+                    MAIN_CLASS,
+                    "--spring.profiles.active=fast-startup",
+                    "--server.port=" + port,
+                    "--juwonjulog.diagnostics.port=" + diagnosticsPort,
+                    "--logging.level.root=WARN"));
+
+            File log = new File(dir, "startup-check-" + (i + 1) + ".log");
+            long started = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log)
+                    .start();
+            try {
+                firstRequestMs[i] = awaitFirstRequest(process, port, started, timeoutMs, log);
+                System.out.printf("run %d: first request served in %dms%n", i + 1, firstRequestMs[i]);
+                if (i == 0) {
+                    printStartup(diagnosticsPort);
+                }
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+
+        long[] sorted = firstRequestMs.clone();
+        Arrays.sort(sorted);
+        long median = sorted[sorted.length / 2];
+        System.out.printf("time to first request: median %dms, min %dms, max %dms%n",
+                median, sorted[0], sorted[sorted.length - 1]);
+
+        if (recordBaseline) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.writeString(baseline, median + System.lineSeparator());
+            System.out.printf("recorded baseline %dms to %s%n", median, baseline);
+            return;
+        }
+        if (!Files.isRegularFile(baseline)) {
+            System.err.printf("missing baseline %s, record it with -PstartupRecordBaseline=true and commit it%n", baseline);
+            System.exit(1);
+        }
+
+        long baselineMs = Long.parseLong(Files.readString(baseline).trim());
+        long limitMs = (long) Math.ceil(baselineMs * (1 + maxGrowth));
+        System.out.printf("baseline %dms (%s), limit %dms (%+.1f%%)%n",
+                baselineMs, baseline, limitMs, maxGrowth * 100);
+
+        if (median > limitMs) {
+            System.err.printf("startup regression: median %dms is %+.1f%% over baseline %dms%n",
+                    median, (median - baselineMs) * 100.0 / baselineMs, baselineMs);
+            System.exit(1);
+        }
+    }
+
+    private static long awaitFirstRequest(Process process, int port, long started, long timeoutMs, File log)
+            throws IOException, InterruptedException {
+        URL url = new URL("http://localhost:" + port + "/posts?page=1&size=10");
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("application exited with " + process.exitValue() + ", see " + log);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (elapsedMs > timeoutMs) {
+                throw new IllegalStateException("no response within " + timeoutMs + "ms, see " + log);
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                connection.setConnectTimeout(100);
+                connection.setReadTimeout((int) timeoutMs);
+                try {
+                    if (connection.getResponseCode() == 200) {
+                        connection.getInputStream().readAllBytes();
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                // 아직 포트가 열리지 않았다.
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    private static void printStartup(int port) throws IOException {
+        JsonNode startup = new ObjectMapper().readTree(new URL("http://localhost:" + port + "/diagnostics/startup?size=10"));
+        System.out.printf("  ready %sms, first request %sms after JVM start%n",
+                startup.path("readyMillis").asText(), startup.path("firstRequestMillis").asText());
+        System.out.println("  slowest beans:");
+        for (JsonNode bean : startup.path("slowestBeans")) {
+            System.out.printf("    %6dms %s%n", bean.path("durationMillis").asLong(), bean.path("detail").asText());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.service.TitleSuggestIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TitleSuggestIndex 에 제목 N 개를 넣었을 때 힙 사용량(제목당 바이트)과 prefix 조회 시간을 잰다.
+ * 제목 문자열 자체의 크기는 따로 빼서, 인덱스 구조가 추가로 쓰는 메모리를 함께 보여준다.
+ */
+public class SuggestMemoryBenchmark {
+
+    private static final String[] WORDS = {
+            "스프링", "부트", "자바", "코틀린", "JPA", "Querydsl", "게시판", "만들기", "입문", "정리",
+            "성능", "튜닝", "테스트", "배포", "도커", "쿠버네티스", "리액트", "Vue", "타입스크립트", "알고리즘",
+            "자료구조", "데이터베이스", "인덱스", "트랜잭션", "캐시", "레디스", "카프카", "여행", "맛집", "일기",
+            "회고", "독서", "영화", "리뷰", "개발", "블로그", "서버", "네트워크", "보안", "운영체제"
+    };
+
+    public static void main(String[] args) {
+        int titles = Integer.parseInt(System.getProperty("benchmark.titles", "100000"));
+        int queries = Integer.parseInt(System.getProperty("benchmark.queries", "1000000"));
+        Random random = new Random(42);
+
+        long baseline = usedHeap();
+        List<String> generated = new ArrayList<>(titles);
+        for (int i = 0; i < titles; i++) {
+            generated.add(title(random, i));
+        }
+        long titlesOnly = usedHeap() - baseline;
+
+        long before = usedHeap();
+        long started = System.nanoTime();
+        TitleSuggestIndex index = new TitleSuggestIndex(10);
+        for (int i = 0; i < titles; i++) {
+            index.index((long) i + 1, generated.get(i));
+        }
+        long buildNanos = System.nanoTime() - started;
+        long indexBytes = usedHeap() - before;
+
+        System.out.printf("titles: %,d (built in %dms)%n", titles, TimeUnit.NANOSECONDS.toMillis(buildNanos));
+        System.out.printf("index heap: %,d bytes, %.1f bytes/title (title strings alone: %.1f bytes/title)%n",
+                indexBytes, indexBytes / (double) titles, titlesOnly / (double) titles);
+
+        String[] prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+        }
+
+        long hits = 0;
+        for (int i = 0; i < queries / 10; i++) {
+            hits += index.suggest(prefixes[i & (prefixes.length - 1)], 10).size();
+        }
+        started = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            hits += index.suggest(prefixes[i & (prefixes.length - 1)], 10).size();
+        }
+        long queryNanos = System.nanoTime() - started;
+
+        System.out.printf("suggest: %.0f ns/query over %,d queries (%,d results, %,d titles indexed)%n",
+                queryNanos / (double) queries, queries, hits, index.size());
+    }
+
+    private static String title(Random random, int i) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            title.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return title.append(i).toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,149 @@
+package com.juwonjulog.perf;
+
+import com.juwonjulog.api.JuwonjulogApplication;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.service.PostService;
+import com.juwonjulog.api.service.PostViewCounter;
+import com.juwonjulog.api.shard.PostShards;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * PostService.get 경로에 추가된 PostViewCounter.increment 의 비용을 잰다.
+ * 소수의 인기 글에 조회가 몰리는 상황을 흉내내기 위해 id 의 90%는 상위 10개 글에서 고른다.
+ *
+ * <p>먼저 increment 만 따로 재고, 다음으로 조회수를 켠 앱과 끈 앱(juwonjulog.views.enabled=false)을 같이 띄워
+ * PostService.get 처리량을 라운드마다 번갈아 잰다. 번갈아 재서 JIT 나 CPU 클럭 변화가 한쪽에만 쏠리지 않게 한다.</p>
+ */
+public class ViewCounterBenchmark {
+
+    private static final int POSTS = 100_000;
+    private static final int HOT_POSTS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.parseInt(System.getProperty("benchmark.threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seconds = Long.parseLong(System.getProperty("benchmark.seconds", "10"));
+        int readPosts = Integer.parseInt(System.getProperty("benchmark.read-posts", "10000"));
+        int rounds = Integer.parseInt(System.getProperty("benchmark.rounds", "5"));
+        long roundSeconds = Long.parseLong(System.getProperty("benchmark.round-seconds", "5"));
+        long warmupSeconds = Long.parseLong(System.getProperty("benchmark.warmup-seconds", "15"));
+
+        PostViewCounter counter = new PostViewCounter(null, PostShards.single(), true);
+
+        System.out.printf("warming up (%d threads)%n", threads);
+        run(threads, 2, POSTS, counter::increment);
+
+        System.out.printf("measuring increments for %ds (%d threads)%n", seconds, threads);
+        long operations = run(threads, seconds, POSTS, counter::increment);
+
+        double opsPerSecond = operations / (double) seconds;
+        System.out.printf("increments: %,d ops/s, %.1f ns/op per thread%n",
+                (long) opsPerSecond, TimeUnit.SECONDS.toNanos(1) * threads / opsPerSecond);
+
+        compareReads(threads, readPosts, rounds, roundSeconds, warmupSeconds);
+    }
+
+    private static void compareReads(int threads, int posts, int rounds, long roundSeconds, long warmupSeconds)
+            throws Exception {
+        try (ConfigurableApplicationContext counted = start("views_on", true);
+             ConfigurableApplicationContext uncounted = start("views_off", false)) {
+            List<Long> countedIds = seed(counted, posts);
+            List<Long> uncountedIds = seed(uncounted, posts);
+            PostService countedService = counted.getBean(PostService.class);
+            PostService uncountedService = uncounted.getBean(PostService.class);
+
+            LongConsumer countedGet = index -> countedService.get(countedIds.get((int) index));
+            LongConsumer uncountedGet = index -> uncountedService.get(uncountedIds.get((int) index));
+
+            System.out.printf("warming up reads (%d threads, %,d posts)%n", threads, posts);
+            run(threads, warmupSeconds, posts, countedGet);
+            run(threads, warmupSeconds, posts, uncountedGet);
+
+            double[] withViews = new double[rounds];
+            double[] withoutViews = new double[rounds];
+            for (int round = 0; round < rounds; round++) {
+                withViews[round] = run(threads, roundSeconds, posts, countedGet) / (double) roundSeconds;
+                withoutViews[round] = run(threads, roundSeconds, posts, uncountedGet) / (double) roundSeconds;
+                System.out.printf("round %d: with views %,.0f reads/s, without views %,.0f reads/s%n",
+                        round + 1, withViews[round], withoutViews[round]);
+            }
+
+            double with = median(withViews);
+            double without = median(withoutViews);
+            System.out.printf("PostService.get median: with views %,.0f reads/s, without views %,.0f reads/s (%+.2f%%)%n",
+                    with, without, (with - without) / without * 100);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, boolean views) {
+        return SpringApplication.run(JuwonjulogApplication.class,
+                "--spring.main.web-application-type=none", "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--juwonjulog.views.enabled=" + views);
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context, int posts) {
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        List<Long> ids = new ArrayList<>(posts);
+        for (int from = 0; from < posts; from += 1000) {
+            int start = from;
+            postRepository.saveAll(IntStream.range(start, Math.min(start + 1000, posts))
+                            .mapToObj(i -> Post.builder()
+                                    .title("title_" + i)
+                                    .content("content_" + i)
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .forEach(post -> ids.add(post.getId()));
+        }
+        return ids;
+    }
+
+    /**
+     * 스레드마다 인기 글 위주로 고른 index 를 operation 에 넘기면서 seconds 동안 돌리고, 수행한 횟수를 돌려준다.
+     */
+    private static long run(int threads, long seconds, int posts, LongConsumer operation) throws InterruptedException {
+        AtomicLong operations = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        int hot = Math.min(HOT_POSTS, posts);
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while ((count & 0xFF) != 0 || System.nanoTime() < deadline) {
+                    long index = random.nextInt(10) < 9 ? random.nextInt(hot) : random.nextInt(posts);
+                    operation.accept(index);
+                    count++;
+                }
+                operations.addAndGet(count);
+                done.countDown();
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        done.await();
+        return operations.get();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
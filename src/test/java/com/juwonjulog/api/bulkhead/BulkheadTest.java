@@ -0,0 +1,127 @@
+package com.juwonjulog.api.bulkhead;
+
+import com.juwonjulog.api.exception.BulkheadFull;
+import com.juwonjulog.api.exception.BulkheadTimeout;
+import com.juwonjulog.api.response.BulkheadResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private Bulkhead bulkhead;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        bulkhead.shutdown();
+    }
+
+    @Test
+    @DisplayName("스레드와 큐가 모두 차면 바로 BulkheadFull 로 거절")
+    void reject_when_queue_full() throws Exception {
+        // given
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(10));
+        CompletableFuture<String> running = bulkhead.supply(this::block);
+        CompletableFuture<String> queued = bulkhead.supply(this::block);
+
+        // when
+        CompletableFuture<String> rejected = bulkhead.supply(() -> "rejected");
+
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadFull.class, e.getCause());
+
+        release.countDown();
+        assertEquals("done", running.get(1, TimeUnit.SECONDS));
+        assertEquals("done", queued.get(1, TimeUnit.SECONDS));
+
+        BulkheadResponse stats = bulkhead.getStats();
+        assertEquals(1L, stats.getRejected());
+        assertEquals(1, stats.getQueueCapacity());
+    }
+
+    @Test
+    @DisplayName("timeout 이 지나면 BulkheadTimeout 으로 끝내고, 큐에서 기다리던 작업은 실행하지 않음")
+    void time_out_and_skip_queued_task() throws Exception {
+        // given
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100));
+        AtomicBoolean queuedTaskRan = new AtomicBoolean();
+
+        // when
+        CompletableFuture<String> running = bulkhead.supply(this::block);
+        CompletableFuture<String> queued = bulkhead.supply(() -> {
+            queuedTaskRan.set(true);
+            return "queued";
+        });
+
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> running.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadTimeout.class, e.getCause());
+        e = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadTimeout.class, e.getCause());
+
+        release.countDown();
+        bulkhead.shutdown();
+        assertTrue(awaitTermination());
+        assertFalse(queuedTaskRan.get());
+        assertEquals(2L, bulkhead.getStats().getTimedOut());
+    }
+
+    @Test
+    @DisplayName("timeoutRunning 을 끄면 실행 중인 작업은 끝날 때까지 기다리고, 큐에서 기다리던 작업만 BulkheadTimeout")
+    void wait_for_running_task_and_expire_queued_task() throws Exception {
+        // given
+        bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(100), false);
+        AtomicBoolean queuedTaskRan = new AtomicBoolean();
+
+        // when
+        CompletableFuture<String> running = bulkhead.supply(this::block);
+        CompletableFuture<String> queued = bulkhead.supply(() -> {
+            queuedTaskRan.set(true);
+            return "queued";
+        });
+
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadTimeout.class, e.getCause());
+        Thread.sleep(200);
+        assertFalse(running.isDone());
+
+        release.countDown();
+        assertEquals("done", running.get(1, TimeUnit.SECONDS));
+        assertFalse(queuedTaskRan.get());
+        assertEquals(1L, bulkhead.getStats().getTimedOut());
+    }
+
+    private String block() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private boolean awaitTermination() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (bulkhead.getStats().getActiveThreads() > 0 || bulkhead.getStats().getQueued() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,222 @@
+package com.juwonjulog.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.AttachmentRepository;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.service.AttachmentService;
+import com.juwonjulog.api.service.AttachmentStorage;
+import com.juwonjulog.api.service.PostPurger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+class AttachmentControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private PostPurger postPurger;
+
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        attachmentRepository.deleteAll();
+        postRepository.deleteAll();
+        post = postRepository.save(Post.builder()
+                .title("글 제목")
+                .content("글 내용...")
+                .build());
+    }
+
+    @AfterEach
+    void clean() {
+        attachmentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("같은 내용의 첨부파일은 한 번만 저장")
+    void deduplicate_same_content() throws Exception {
+        // when
+        JsonNode first = upload("a.txt");
+        JsonNode second = upload("b.txt");
+
+        // then
+        assertNotEquals(first.get("id").asLong(), second.get("id").asLong());
+        assertEquals(first.get("sha256").asText(), second.get("sha256").asText());
+        assertEquals(CONTENT.length, first.get("size").asLong());
+        assertEquals(2L, attachmentRepository.count());
+
+        Path path = attachmentStorage.path(first.get("sha256").asText());
+        assertArrayEquals(CONTENT, Files.readAllBytes(path));
+    }
+
+    @Test
+    @DisplayName("첨부파일 다운로드 시 ETag 를 주고, 같은 ETag 로 다시 요청하면 304")
+    void download_with_etag() throws Exception {
+        // given
+        JsonNode attachment = upload("a.txt");
+        String etag = "\"" + attachment.get("sha256").asText() + "\"";
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}/attachments/{attachmentId}", post.getId(), attachment.get("id").asLong()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", CONTENT.length))
+                .andExpect(header().string("Content-Type", startsWith("text/plain")))
+                .andExpect(content().bytes(CONTENT))
+                .andDo(print());
+
+        mockMvc.perform(get("/posts/{postId}/attachments/{attachmentId}", post.getId(), attachment.get("id").asLong())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("첨부파일 Range 요청 시 206, 범위를 벗어나면 416")
+    void download_range() throws Exception {
+        // given
+        JsonNode attachment = upload("a.txt");
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}/attachments/{attachmentId}", post.getId(), attachment.get("id").asLong())
+                        .header("Range", "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/16"))
+                .andExpect(content().string("2345"))
+                .andDo(print());
+
+        mockMvc.perform(get("/posts/{postId}/attachments/{attachmentId}", post.getId(), attachment.get("id").asLong())
+                        .header("Range", "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */16"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("다른 글의 첨부파일이나 없는 글에 첨부하면 404")
+    void not_found() throws Exception {
+        // given
+        JsonNode attachment = upload("a.txt");
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}/attachments/{attachmentId}", post.getId() + 1, attachment.get("id").asLong()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("존재하지 않는 첨부파일입니다."))
+                .andDo(print());
+
+        mockMvc.perform(multipart("/posts/{postId}/attachments", post.getId() + 1)
+                        .file(new MockMultipartFile("file", "a.txt", "text/plain", CONTENT)))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글의 첨부파일은 더 이상 받을 수 없고, 정리할 때 함께 삭제")
+    void delete_attachments_with_post() throws Exception {
+        // given
+        JsonNode attachment = upload("unique.txt", "삭제될 파일".getBytes(StandardCharsets.UTF_8));
+        Path path = attachmentStorage.path(attachment.get("sha256").asText());
+        assertTrue(Files.exists(path));
+
+        // when
+        MvcResult result = mockMvc.perform(delete("/posts/{postId}", post.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        // then
+        mockMvc.perform(get("/posts/{postId}/attachments/{attachmentId}", post.getId(), attachment.get("id").asLong()))
+                .andExpect(status().isNotFound());
+
+        postPurger.purge(LocalDateTime.now().plusSeconds(1));
+        assertEquals(0L, attachmentRepository.count());
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    @DisplayName("첨부파일 행 삭제가 롤백되면 디스크의 파일도 남기고, 커밋된 뒤에만 지움")
+    void delete_files_after_commit() throws Exception {
+        // given
+        JsonNode attachment = upload("unique.txt", "커밋 후에 지울 파일".getBytes(StandardCharsets.UTF_8));
+        Path path = attachmentStorage.path(attachment.get("sha256").asText());
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            attachmentService.deleteAll(List.of(post.getId()));
+            assertTrue(Files.exists(path));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertEquals(1L, attachmentRepository.count());
+        assertTrue(Files.exists(path));
+
+        transactionTemplate.executeWithoutResult(status -> attachmentService.deleteAll(List.of(post.getId())));
+        assertEquals(0L, attachmentRepository.count());
+        assertFalse(Files.exists(path));
+    }
+
+    private JsonNode upload(String filename) throws Exception {
+        return upload(filename, CONTENT);
+    }
+
+    private JsonNode upload(String filename, byte[] content) throws Exception {
+        String json = mockMvc.perform(multipart("/posts/{postId}/attachments", post.getId())
+                        .file(new MockMultipartFile("file", filename, "text/plain", content)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,101 @@
+package com.juwonjulog.api.controller;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostCreate;
+import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.service.FeedCache;
+import com.juwonjulog.api.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FeedCache feedCache;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+        feedCache.rebuild();
+    }
+
+    @Test
+    @DisplayName("피드에 작성한 글이 최신순으로 들어가고, 같은 ETag 로 다시 요청하면 304")
+    void get_feed_and_not_modified() throws Exception {
+        // given
+        postService.write(PostCreate.builder().title("첫 번째 <글>").content("내용 & 1").build());
+        postService.write(PostCreate.builder().title("두 번째 글").content("내용 2").build());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("application/atom+xml")))
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andDo(print())
+                .andReturn();
+
+        // then
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.indexOf("두 번째 글") < body.indexOf("첫 번째 &lt;글&gt;"));
+        assertTrue(body.contains("내용 &amp;amp; 1"));
+
+        mockMvc.perform(get("/feed.xml")
+                        .header("If-None-Match", result.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("글을 수정/삭제하면 피드와 ETag 가 바뀜")
+    void update_feed_after_edit_and_delete() throws Exception {
+        // given
+        postService.write(PostCreate.builder().title("수정 전 제목").content("내용").build());
+        Post post = postRepository.findAll().get(0);
+        String etag = mockMvc.perform(get("/feed.xml")).andReturn().getResponse().getHeader("ETag");
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder().title("수정 후 제목").content("내용").build());
+
+        // then
+        String edited = mockMvc.perform(get("/feed.xml")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("수정 후 제목")))
+                .andExpect(content().string(not(containsString("수정 전 제목"))))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, edited);
+
+        postService.delete(post.getId());
+        mockMvc.perform(get("/feed.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("수정 후 제목"))));
+    }
+}
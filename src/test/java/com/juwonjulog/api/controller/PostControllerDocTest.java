@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.juwonjulog.api.domain.Post;
 import com.juwonjulog.api.repository.PostRepository;
 import com.juwonjulog.api.request.PostCreate;
+import com.juwonjulog.api.service.MarkdownRenderer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.restdocs.RestDocumentationExtension;
 import org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
@@ -23,6 +25,8 @@ import static org.springframework.restdocs.request.RequestDocumentation.paramete
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.snippet.Attributes.key;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -40,6 +44,9 @@ public class PostControllerDocTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
     @Test
     @DisplayName("게시글 작성")
     void post() throws Exception {
@@ -47,22 +54,28 @@ public class PostControllerDocTest {
         PostCreate postCreate = PostCreate.builder()
                 .title("title")
                 .content("content")
+                .category("개발")
                 .build();
 
         String json = objectMapper.writeValueAsString(postCreate);
 
         // expected
-        mockMvc.perform(RestDocumentationRequestBuilders.post("/posts")
+        MvcResult result = mockMvc.perform(RestDocumentationRequestBuilders.post("/posts")
                         .contentType(APPLICATION_JSON)
                         .accept(APPLICATION_JSON)
                         .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andDo(document("post-create",
                         requestFields(
                                 fieldWithPath("title").description("게시글 제목")
                                         .attributes(key("constraint").value("제목에 바르고 고운 말을 사용해주세요.")),
-                                fieldWithPath("content").description("게시글 내용").optional())
+                                fieldWithPath("content").description("게시글 내용").optional(),
+                                fieldWithPath("category").description("카테고리").optional())
                 ));
     }
 
@@ -73,12 +86,18 @@ public class PostControllerDocTest {
         Post post = Post.builder()
                 .title("title")
                 .content("content")
+                .category("개발")
                 .build();
+        markdownRenderer.render(post);
         postRepository.save(post);
 
         // expected
-        mockMvc.perform(get("/posts/{postId}", post.getId())
+        MvcResult result = mockMvc.perform(get("/posts/{postId}", post.getId())
                         .accept(APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andDo(document("post-inquiry",
@@ -87,7 +106,11 @@ public class PostControllerDocTest {
                         responseFields(
                                 fieldWithPath("id").description("게시글 ID"),
                                 fieldWithPath("title").description("게시글 제목"),
-                                fieldWithPath("content").description("게시글 내용"))
+                                fieldWithPath("content").description("게시글 내용"),
+                                fieldWithPath("contentHtml").description("Markdown 으로 렌더링된 게시글 내용"),
+                                fieldWithPath("category").description("카테고리"),
+                                fieldWithPath("createdAt").description("작성 일시"),
+                                fieldWithPath("views").description("조회수"))
                 ));
     }
 }
@@ -1,10 +1,13 @@
 package com.juwonjulog.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juwonjulog.api.bulkhead.Bulkheads;
+import com.juwonjulog.api.config.BulkheadProperties;
 import com.juwonjulog.api.domain.Post;
 import com.juwonjulog.api.repository.PostRepository;
 import com.juwonjulog.api.request.PostCreate;
 import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.request.PostMultiGet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,12 +15,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,6 +44,12 @@ class PostControllerTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private BulkheadProperties bulkheadProperties;
+
     @BeforeEach
     void clean() {
         postRepository.deleteAll();
@@ -54,7 +67,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(request);
 
         // expected
-        mockMvc.perform(post("/posts")
+        performAsync(post("/posts")
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isOk())
@@ -74,7 +87,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(request);
 
         // when
-        mockMvc.perform(post("/posts")
+        performAsync(post("/posts")
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isOk())
@@ -142,7 +155,7 @@ class PostControllerTest {
         postRepository.save(post);
 
         // expected
-        mockMvc.perform(get("/posts/{postId}", post.getId())
+        performAsync(get("/posts/{postId}", post.getId())
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(post.getId()))
@@ -155,12 +168,107 @@ class PostControllerTest {
     @DisplayName("존재하지 않는 게시글 단건 조회")
     void get_nonexistent_post() throws Exception {
         // expected
-        mockMvc.perform(get("/posts/{postId}", 1L)
+        performAsync(get("/posts/{postId}", 1L)
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isNotFound())
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("게시글 본문 원문 조회")
+    void get_post_content() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("글 제목")
+                .content("가나다라마")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}/content", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", 15L))
+                .andExpect(content().contentType("text/markdown;charset=UTF-8"))
+                .andExpect(content().string("가나다라마"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("게시글 본문 Range 조회 시 UTF-8 바이트 기준으로 잘라서 206 출력")
+    void get_post_content_range() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("글 제목")
+                .content("가나다라마")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}/content", post.getId())
+                        .header("Range", "bytes=3-8"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 3-8/15"))
+                .andExpect(content().string("나다"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("게시글 본문 여러 Range 조회 시 multipart/byteranges 출력")
+    void get_post_content_multiple_ranges() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("글 제목")
+                .content("가나다라마")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}/content", post.getId())
+                        .header("Range", "bytes=0-2,12-14"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Type", startsWith("multipart/byteranges")))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 게시글 본문 조회")
+    void get_nonexistent_post_content() throws Exception {
+        // expected
+        mockMvc.perform(get("/posts/{postId}/content", 1L))
+                .andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("본문 스트리밍 permit 이 다 차면 503, 응답이 끝난 요청은 permit 반납")
+    void reject_post_content_when_streams_full() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("글 제목")
+                .content("가나다라마")
+                .build());
+        mockMvc.perform(get("/posts/{postId}/content", post.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/posts/{postId}/content", 1L))
+                .andExpect(status().isNotFound());
+        assertEquals(0, bulkheads.content().getStats().getActiveThreads());
+
+        List<Runnable> held = IntStream.range(0, bulkheadProperties.getContent().getPermits())
+                .mapToObj(i -> bulkheads.content().acquire())
+                .collect(Collectors.toList());
+
+        // expected
+        try {
+            mockMvc.perform(get("/posts/{postId}/content", post.getId()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andDo(print());
+        } finally {
+            held.forEach(Runnable::run);
+        }
+
+        mockMvc.perform(get("/posts/{postId}/content", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("가나다라마"));
+    }
+
     @Test
     @DisplayName("게시글 단건 조회 시 title 길이는 최대 10")
     void title_max_length_is_10_when_get() throws Exception {
@@ -178,14 +286,14 @@ class PostControllerTest {
         postRepository.save(postShort);
 
         // expected
-        mockMvc.perform(get("/posts/{postId}", postLong.getId())
+        performAsync(get("/posts/{postId}", postLong.getId())
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(postLong.getId()))
                 .andExpect(jsonPath("$.title").value("1234567890"))
                 .andDo(print());
 
-        mockMvc.perform(get("/posts/{postId}", postShort.getId())
+        performAsync(get("/posts/{postId}", postShort.getId())
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(postShort.getId()))
@@ -206,7 +314,7 @@ class PostControllerTest {
         postRepository.saveAll(requestPosts);
 
         // expected
-        mockMvc.perform(get("/posts?page=1&size=10")
+        performAsync(get("/posts?page=1&size=10")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()", is(10)))
@@ -230,7 +338,7 @@ class PostControllerTest {
         postRepository.saveAll(requestPosts);
 
         // expected
-        mockMvc.perform(get("/posts?page=0&size=10")
+        performAsync(get("/posts?page=0&size=10")
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()", is(10)))
@@ -241,6 +349,125 @@ class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("게시글 여러개 ID로 조회 시 요청한 순서대로 출력하고 없는 ID는 따로 출력")
+    void get_posts_by_ids_in_requested_order() throws Exception {
+        // given
+        Post first = postRepository.save(Post.builder()
+                .title("title_1")
+                .content("content_1")
+                .build());
+        Post second = postRepository.save(Post.builder()
+                .title("title_2")
+                .content("content_2")
+                .build());
+        long missingId = second.getId() + 100;
+
+        // expected
+        performAsync(get("/posts?ids={ids}", second.getId() + "," + missingId + "," + first.getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(2)))
+                .andExpect(jsonPath("$.posts[0].title").value("title_2"))
+                .andExpect(jsonPath("$.posts[1].title").value("title_1"))
+                .andExpect(jsonPath("$.missingIds.length()", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("게시글 여러개 ID 목록을 body로 조회")
+    void get_posts_by_ids_in_body() throws Exception {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 2001)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        List<Long> ids = requestPosts.stream()
+                .map(Post::getId)
+                .sorted((a, b) -> Long.compare(b, a))
+                .collect(Collectors.toList());
+
+        String json = objectMapper.writeValueAsString(PostMultiGet.builder()
+                .ids(ids)
+                .build());
+
+        // expected
+        performAsync(post("/posts/multi-get")
+                        .contentType(APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(2000)))
+                .andExpect(jsonPath("$.posts[0].title").value("title_2000"))
+                .andExpect(jsonPath("$.posts[1999].title").value("title_1"))
+                .andExpect(jsonPath("$.missingIds.length()", is(0)));
+    }
+
+    @Test
+    @DisplayName("게시글 여러개 조회 시 ID 목록이 비어있으면 json 에러 객체를 출력")
+    void return_json_error_when_multi_get_ids_empty() throws Exception {
+        // given
+        String json = objectMapper.writeValueAsString(PostMultiGet.builder()
+                .ids(List.of())
+                .build());
+
+        // expected
+        mockMvc.perform(post("/posts/multi-get")
+                        .contentType(APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.validation.ids").value("조회할 게시글 ID를 입력해주세요."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("게시글 여러개 조회 시 ID 목록에 빈 값이 있으면 json 에러 객체를 출력")
+    void return_json_error_when_multi_get_ids_contain_null() throws Exception {
+        // expected
+        mockMvc.perform(post("/posts/multi-get")
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"ids\": [1, null, 2]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.validation.ids").value("게시글 ID에 빈 값이 들어갈 수 없습니다."))
+                .andDo(print());
+
+        mockMvc.perform(get("/posts")
+                        .param("ids", "1,,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.ids").value("게시글 ID에 빈 값이 들어갈 수 없습니다."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("작성한 게시글 제목을 입력 중인 prefix 로 자동완성")
+    void suggest_titles_by_prefix() throws Exception {
+        // given
+        for (String title : List.of("자동완성 테스트 첫글", "자동완성 테스트 둘째글", "다른 제목")) {
+            performAsync(post("/posts")
+                            .contentType(APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(PostCreate.builder()
+                                    .title(title)
+                                    .content("글 내용...")
+                                    .build())))
+                    .andExpect(status().isOk());
+        }
+
+        // expected
+        mockMvc.perform(get("/posts/suggest?prefix={prefix}", "자동완ㅅ")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].title").value("자동완성 테스트 둘째글"))
+                .andExpect(jsonPath("$[1].title").value("자동완성 테스트 첫글"))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("게시글 제목 수정")
     void edit_post_title() throws Exception {
@@ -259,7 +486,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(postEdit);
 
         // expected
-        mockMvc.perform(patch("/posts/{postId}", post.getId())
+        performAsync(patch("/posts/{postId}", post.getId())
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isOk())
@@ -284,7 +511,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(postEdit);
 
         // expected
-        mockMvc.perform(patch("/posts/{postId}", post.getId())
+        performAsync(patch("/posts/{postId}", post.getId())
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isOk())
@@ -303,7 +530,7 @@ class PostControllerTest {
         String json = objectMapper.writeValueAsString(postEdit);
 
         // expected
-        mockMvc.perform(patch("/posts/{postId}", 1L)
+        performAsync(patch("/posts/{postId}", 1L)
                         .contentType(APPLICATION_JSON)
                         .content(json))
                 .andExpect(status().isNotFound())
@@ -321,7 +548,7 @@ class PostControllerTest {
         postRepository.save(post);
 
         // expected
-        mockMvc.perform(delete("/posts/{postId}", post.getId())
+        performAsync(delete("/posts/{postId}", post.getId())
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andDo(print());
@@ -331,9 +558,19 @@ class PostControllerTest {
     @DisplayName("존재하지 않는 게시글 삭제")
     void delete_nonexistent_post() throws Exception {
         // expected
-        mockMvc.perform(delete("/posts/{postId}", 1L)
+        performAsync(delete("/posts/{postId}", 1L)
                         .contentType(APPLICATION_JSON))
                 .andExpect(status().isNotFound())
                 .andDo(print());
     }
-}
\ No newline at end of file
+
+    /**
+     * bulkhead 에서 처리되는 요청은 비동기로 시작되므로, 결과를 받아 다시 dispatch 해서 최종 응답을 검증한다.
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
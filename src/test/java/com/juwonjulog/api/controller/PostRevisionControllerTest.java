@@ -0,0 +1,165 @@
+package com.juwonjulog.api.controller;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostCreate;
+import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "juwonjulog.revisions.keyframe-interval=4")
+class PostRevisionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        postService.write(PostCreate.builder()
+                .title("제목 0")
+                .content(content(0))
+                .build());
+        post = postRepository.findAll().get(0);
+
+        for (int i = 1; i < 10; i++) {
+            postService.edit(post.getId(), PostEdit.builder()
+                    .title("제목 " + i)
+                    .content(content(i))
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("리비전 목록은 최신순이고, keyframe 은 4개마다 하나")
+    void get_revisions() throws Exception {
+        performAsync(get("/posts/{postId}/revisions", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].rev").value(10))
+                .andExpect(jsonPath("$[0].title").value("제목 9"))
+                .andExpect(jsonPath("$[0].keyframe").value(false))
+                .andExpect(jsonPath("$[1].rev").value(9))
+                .andExpect(jsonPath("$[1].keyframe").value(true))
+                .andExpect(jsonPath("$[5].rev").value(5))
+                .andExpect(jsonPath("$[5].keyframe").value(true))
+                .andExpect(jsonPath("$[9].rev").value(1))
+                .andExpect(jsonPath("$[9].keyframe").value(true))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("어느 리비전이든 그때의 제목과 본문으로 되살림")
+    void get_revision() throws Exception {
+        for (int rev = 10; rev >= 1; rev--) {
+            performAsync(get("/posts/{postId}/revisions/{rev}", post.getId(), rev))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rev").value(rev))
+                    .andExpect(jsonPath("$.title").value("제목 " + (rev - 1)))
+                    .andExpect(jsonPath("$.content").value(content(rev - 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("없는 리비전은 404")
+    void revision_not_found() throws Exception {
+        performAsync(get("/posts/{postId}/revisions/{rev}", post.getId(), 11))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("존재하지 않는 리비전입니다."))
+                .andDo(print());
+
+        performAsync(get("/posts/{postId}/revisions/{rev}", post.getId() + 1, 1))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("존재하지 않는 글입니다."));
+    }
+
+    @Test
+    @DisplayName("같은 글을 동시에 고쳐도 리비전이 rev 순서대로 빠짐없이 남음")
+    void concurrent_edits_keep_revision_chain() throws Exception {
+        // given
+        int threads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            int version = 10 + t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    postService.edit(post.getId(), PostEdit.builder()
+                            .title("제목 " + version)
+                            .content(content(version))
+                            .build());
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // then
+        assertTrue(failures.isEmpty(), failures::toString);
+        String latestTitle = postRepository.findById(post.getId()).orElseThrow().getTitle();
+        performAsync(get("/posts/{postId}/revisions/{rev}", post.getId(), 10 + threads))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(latestTitle));
+    }
+
+    /**
+     * bulkhead 에서 처리되는 요청은 비동기로 시작되므로, 결과를 받아 다시 dispatch 해서 최종 응답을 검증한다.
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private static String content(int version) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append(i).append("번째 줄입니다.");
+            if (i == version * 10) {
+                content.append(" (").append(version).append("번째 수정)");
+            }
+            content.append('\n');
+        }
+        return content.toString();
+    }
+}
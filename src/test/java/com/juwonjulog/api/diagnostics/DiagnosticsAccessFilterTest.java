@@ -0,0 +1,58 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.juwonjulog.api.config.DiagnosticsProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsAccessFilterTest {
+
+    private static final int SERVER_PORT = 8080;
+    private static final int DIAGNOSTICS_PORT = 8081;
+
+    @Test
+    @DisplayName("진단 경로는 관리용 포트로 들어온 요청만 통과")
+    void allow_diagnostics_only_on_management_port() throws Exception {
+        DiagnosticsAccessFilter filter = new DiagnosticsAccessFilter(properties(DIAGNOSTICS_PORT));
+
+        assertEquals(404, filter(filter, SERVER_PORT, "/diagnostics/slow-requests/slow-20220601T000000-000.jfr"));
+        assertEquals(200, filter(filter, DIAGNOSTICS_PORT, "/diagnostics/slow-requests/slow-20220601T000000-000.jfr"));
+    }
+
+    @Test
+    @DisplayName("관리용 포트에서는 진단 경로 외의 요청을 받지 않음")
+    void reject_service_paths_on_management_port() throws Exception {
+        DiagnosticsAccessFilter filter = new DiagnosticsAccessFilter(properties(DIAGNOSTICS_PORT));
+
+        assertEquals(404, filter(filter, DIAGNOSTICS_PORT, "/posts"));
+        assertEquals(200, filter(filter, SERVER_PORT, "/posts"));
+    }
+
+    @Test
+    @DisplayName("관리용 포트를 설정하지 않으면 진단 경로를 열지 않음")
+    void hide_diagnostics_without_management_port() throws Exception {
+        DiagnosticsAccessFilter filter = new DiagnosticsAccessFilter(properties(null));
+
+        assertEquals(404, filter(filter, SERVER_PORT, "/diagnostics/startup"));
+        assertEquals(200, filter(filter, SERVER_PORT, "/posts"));
+    }
+
+    private static DiagnosticsProperties properties(Integer port) {
+        DiagnosticsProperties properties = new DiagnosticsProperties();
+        properties.setPort(port);
+        return properties;
+    }
+
+    private static int filter(DiagnosticsAccessFilter filter, int localPort, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setLocalPort(localPort);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,105 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.juwonjulog.api.config.JfrProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestRecorderTest {
+
+    @TempDir
+    Path captureDir;
+
+    private SlowRequestRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("느린 요청이면 ring buffer 를 파일로 남기고, 그 안에 요청 이벤트가 포함")
+    void dump_recording_when_slow_request() throws Exception {
+        // given
+        recorder = new SlowRequestRecorder(properties(Duration.ZERO));
+        recorder.start();
+
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        event.method = "GET";
+        event.uri = "/posts/1";
+        event.status = 200;
+        event.commit();
+
+        // when
+        recorder.capture("GET", "/posts/1", Duration.ofSeconds(1).toNanos());
+
+        // then
+        List<Path> captures = awaitCaptures(1);
+        assertEquals(1, captures.size());
+        assertTrue(recorder.getCapture(captures.get(0).getFileName().toString()).isPresent());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(captures.get(0));
+        assertTrue(events.stream().anyMatch(recorded ->
+                recorded.getEventType().getName().equals("com.juwonjulog.Request")
+                        && "/posts/1".equals(recorded.getString("uri"))));
+        assertTrue(events.stream().noneMatch(recorded ->
+                recorded.getEventType().getName().equals("jdk.InitialSystemProperty")
+                        || recorded.getEventType().getName().equals("jdk.InitialEnvironmentVariable")));
+    }
+
+    @Test
+    @DisplayName("최소 간격 안에 들어온 느린 요청은 한 번만 기록")
+    void capture_at_most_once_per_interval() throws Exception {
+        // given
+        recorder = new SlowRequestRecorder(properties(Duration.ofMinutes(1)));
+        recorder.start();
+
+        // when
+        recorder.capture("GET", "/posts", Duration.ofSeconds(1).toNanos());
+        recorder.capture("GET", "/posts", Duration.ofSeconds(1).toNanos());
+
+        // then
+        awaitCaptures(1);
+        Thread.sleep(200);
+        assertEquals(1, recorder.getCaptures().size());
+    }
+
+    @Test
+    @DisplayName("기록 파일 이름 형식이 아니면 찾지 않음")
+    void reject_invalid_capture_name() throws Exception {
+        recorder = new SlowRequestRecorder(properties(Duration.ZERO));
+        recorder.start();
+
+        assertTrue(recorder.getCapture("../application.yml").isEmpty());
+    }
+
+    private JfrProperties properties(Duration minCaptureInterval) {
+        JfrProperties properties = new JfrProperties();
+        properties.setEnabled(true);
+        properties.setCaptureDir(captureDir);
+        properties.setMinCaptureInterval(minCaptureInterval);
+        return properties;
+    }
+
+    private List<Path> awaitCaptures(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<Path> captures = recorder.getCaptures();
+        while (captures.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            captures = recorder.getCaptures();
+        }
+        return captures;
+    }
+}
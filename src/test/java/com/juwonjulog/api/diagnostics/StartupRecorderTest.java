@@ -0,0 +1,73 @@
+package com.juwonjulog.api.diagnostics;
+
+import com.juwonjulog.api.response.StartupResponse;
+import com.juwonjulog.api.response.StartupStepResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupRecorderTest {
+
+    @Test
+    @DisplayName("기동 단계는 시간순으로, 빈 생성은 오래 걸린 순으로 size 개까지")
+    void stats_from_buffered_steps() throws Exception {
+        // given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep refresh = startup.start("spring.context.refresh");
+        instantiate(startup, "postService", 30);
+        instantiate(startup, "frontPageCache", 1);
+        instantiate(startup, "jpaQueryFactory", 15);
+        startup.start("spring.boot.application.ready").tag("mainApplicationClass", "JuwonjulogApplication").end();
+        refresh.end();
+
+        StartupRecorder recorder = new StartupRecorder(startup);
+
+        // when
+        StartupResponse stats = recorder.getStats(2);
+
+        // then
+        assertTrue(stats.isRecording());
+        assertEquals(List.of("spring.context.refresh", "spring.boot.application.ready"),
+                stats.getPhases().stream().map(StartupStepResponse::getName).collect(Collectors.toList()));
+        assertEquals("mainApplicationClass=JuwonjulogApplication", stats.getPhases().get(1).getDetail());
+
+        assertEquals(List.of("postService", "jpaQueryFactory"),
+                stats.getSlowestBeans().stream().map(StartupStepResponse::getDetail).collect(Collectors.toList()));
+        assertTrue(stats.getSlowestBeans().get(0).getDurationMillis() >= 30);
+    }
+
+    @Test
+    @DisplayName("첫 요청 시각은 한 번만 기록")
+    void first_request_recorded_once() throws Exception {
+        // given
+        StartupRecorder recorder = new StartupRecorder(ApplicationStartup.DEFAULT);
+        recorder.ready();
+
+        // when
+        recorder.requestCompleted();
+        Long first = recorder.getStats(10).getFirstRequestMillis();
+        Thread.sleep(20);
+        recorder.requestCompleted();
+
+        // then
+        StartupResponse stats = recorder.getStats(10);
+        assertFalse(stats.isRecording());
+        assertNotNull(stats.getReadyMillis());
+        assertEquals(first, stats.getFirstRequestMillis());
+        assertTrue(stats.getFirstRequestMillis() >= stats.getReadyMillis());
+        assertTrue(stats.getPhases().isEmpty());
+    }
+
+    private static void instantiate(ApplicationStartup startup, String beanName, long millis) throws InterruptedException {
+        StartupStep step = startup.start("spring.beans.instantiate").tag("beanName", beanName);
+        Thread.sleep(millis);
+        step.end();
+    }
+}
@@ -0,0 +1,104 @@
+package com.juwonjulog.api.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juwonjulog.api.response.ErrorResponse;
+import com.juwonjulog.api.response.PostResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ResponseJsonWriterTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("게시글 응답은 Jackson 과 같은 바이트로 씀")
+    void write_post_like_jackson() throws Exception {
+        List<PostResponse> posts = Arrays.asList(
+                post(1L, "제목", "따옴표\" 역슬래시\\ 슬래시/ 줄바꿈\n탭\t제어\u0001\u001f 삭제\u007f",
+                        LocalDateTime.of(2022, 6, 2, 23, 0)),
+                post(2L, "이모지 😀 글", "é ü 中 \uD800 외톨이 surrogate",
+                        LocalDateTime.of(2022, 6, 2, 23, 0, 5, 120_000_000)),
+                post(3L, "나노초", "<p>html</p>", LocalDateTime.of(2022, 1, 1, 0, 0, 0, 1)),
+                PostResponse.builder().id(4L).title("null 필드").build());
+
+        for (PostResponse post : posts) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(post), write(json -> ResponseJsonWriter.write(json, post)));
+        }
+        assertArrayEquals(objectMapper.writeValueAsBytes(posts), write(json -> ResponseJsonWriter.write(json, posts)));
+        assertArrayEquals(objectMapper.writeValueAsBytes(Collections.emptyList()),
+                write(json -> ResponseJsonWriter.write(json, Collections.<PostResponse>emptyList())));
+    }
+
+    @Test
+    @DisplayName("에러 응답은 Jackson 과 같은 바이트로 씀")
+    void write_error_like_jackson() throws Exception {
+        ErrorResponse empty = ErrorResponse.builder()
+                .code("404")
+                .message("존재하지 않는 글입니다.")
+                .build();
+        ErrorResponse invalid = ErrorResponse.builder()
+                .code("400")
+                .message("잘못된 요청입니다.")
+                .build();
+        invalid.addValidation("title", "타이틀을 입력해주세요.");
+        invalid.addValidation("content", "내용을 입력해주세요.");
+
+        for (ErrorResponse error : Arrays.asList(empty, invalid)) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(error), write(json -> ResponseJsonWriter.write(json, error)));
+        }
+    }
+
+    @Test
+    @DisplayName("버퍼보다 긴 응답도 나눠서 끝까지 씀")
+    void write_larger_than_buffer() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("가나다 abc \"").append(i).append("\"\n");
+        }
+        PostResponse post = post(1L, "긴 글", content.toString(), LocalDateTime.of(2022, 6, 2, 23, 0));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonOutput json = new JsonOutput(out, new JsonBufferPool(64, 1))) {
+            ResponseJsonWriter.write(json, post);
+        }
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(post), out.toByteArray());
+    }
+
+    private static PostResponse post(Long id, String title, String content, LocalDateTime createdAt) {
+        return PostResponse.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .contentHtml("<p>" + content + "</p>")
+                .category("개발")
+                .createdAt(createdAt)
+                .views(id * 10)
+                .build();
+    }
+
+    private static byte[] write(JsonWrite write) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonOutput json = new JsonOutput(out, new JsonBufferPool(1024, 1))) {
+            write.to(json);
+        }
+        return out.toByteArray();
+    }
+
+    private interface JsonWrite {
+        void to(JsonOutput json) throws IOException;
+    }
+}
@@ -0,0 +1,151 @@
+package com.juwonjulog.api.repository;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.service.PostPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * 인덱스 테스트는 직접 쓴 SQL 이 아니라 getList 가 실제로 만든 SQL 의 실행 계획을 본다.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.juwonjulog.api.repository.SqlCaptor")
+class PostRepositoryTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2022, 6, 1, 12, 0);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+
+        List<Post> posts = IntStream.range(0, 1000)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .category(i % 2 == 0 ? "개발" : "일상")
+                        .createdAt(BASE_TIME.plusHours(i))
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(posts);
+    }
+
+    @Test
+    @DisplayName("카테고리로 필터링한 게시글 목록을 최신순으로 조회")
+    void get_list_filtered_by_category() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .category("일상")
+                .size(5)
+                .build();
+
+        // when
+        List<Post> posts = postRepository.getList(postSearch);
+
+        // then
+        assertEquals(5, posts.size());
+        assertTrue(posts.stream().allMatch(post -> "일상".equals(post.getCategory())));
+        assertEquals("title_999", posts.get(0).getTitle());
+        assertEquals("title_991", posts.get(4).getTitle());
+    }
+
+    @Test
+    @DisplayName("작성일 범위로 필터링한 게시글 목록 조회 시 종료일 하루 전체를 포함")
+    void get_list_filtered_by_created_date() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .startDate(LocalDate.of(2022, 6, 2))
+                .endDate(LocalDate.of(2022, 6, 2))
+                .size(100)
+                .build();
+
+        // when
+        List<Post> posts = postRepository.getList(postSearch);
+
+        // then
+        assertEquals(24, posts.size());
+        assertEquals(LocalDateTime.of(2022, 6, 2, 23, 0), posts.get(0).getCreatedAt());
+        assertEquals(LocalDateTime.of(2022, 6, 2, 0, 0), posts.get(23).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("카테고리 필터링 목록 조회는 (deleted_at, category, id desc) 인덱스를 사용")
+    void category_filter_uses_index() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .category("개발")
+                .page(3)
+                .size(10)
+                .build();
+
+        // when
+        String sql = captureListQuery(postSearch);
+
+        // then
+        String plan = explain(sql, "개발", 10, 20L);
+        assertTrue(plan.contains("IDX_POST_DELETED_AT_CATEGORY_ID"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName("작성일 범위 목록 조회는 (deleted_at, created_at) 인덱스를 사용")
+    void created_date_filter_uses_index() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .startDate(LocalDate.of(2022, 6, 2))
+                .endDate(LocalDate.of(2022, 6, 2))
+                .page(2)
+                .size(5)
+                .build();
+
+        // when
+        String sql = captureListQuery(postSearch);
+
+        // then
+        String plan = explain(sql,
+                Timestamp.valueOf(LocalDateTime.of(2022, 6, 2, 0, 0)),
+                Timestamp.valueOf(LocalDateTime.of(2022, 6, 3, 0, 0)),
+                5, 5L);
+        assertTrue(plan.contains("IDX_POST_DELETED_AT_CREATED_AT"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    @DisplayName("삭제된 글 정리 대상 조회는 deleted_at 이 앞에 오는 인덱스를 사용")
+    void purge_target_uses_index() {
+        String plan = explain(PostPurger.SELECT_DELETED,
+                Timestamp.valueOf(LocalDateTime.of(2022, 6, 3, 0, 0)), 500);
+
+        assertTrue(plan.contains("IDX_POST_DELETED_AT_CREATED_AT"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String captureListQuery(PostSearch postSearch) {
+        SqlCaptor.clear();
+        postRepository.getList(postSearch);
+        return SqlCaptor.last("select");
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+    }
+}
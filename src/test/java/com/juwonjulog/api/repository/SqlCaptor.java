@@ -0,0 +1,39 @@
+package com.juwonjulog.api.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate 가 실제로 보내는 SQL 을 모아서, 테스트에서 그 SQL 그대로 실행 계획을 확인할 수 있게 한다.
+ */
+public class SqlCaptor implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    public static String last(String prefix) {
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            if (statements.get(i).startsWith(prefix)) {
+                return statements.get(i);
+            }
+        }
+        throw new IllegalStateException("no statement starting with " + prefix + " in " + statements);
+    }
+
+    public static long count(String prefix) {
+        return statements.stream()
+                .filter(sql -> sql.startsWith(prefix))
+                .count();
+    }
+}
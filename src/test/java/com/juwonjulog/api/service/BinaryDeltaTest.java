@@ -0,0 +1,68 @@
+package com.juwonjulog.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryDeltaTest {
+
+    @Test
+    @DisplayName("중간에 넣고 지우고 끝에 붙인 수정은 바뀐 부분만큼의 delta 로 되살림")
+    void small_edit_makes_small_delta() {
+        // given
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append("# ").append(i).append("번째 문단\n본문 내용이 이어집니다. ").append(i * 7).append("\n\n");
+        }
+        byte[] source = utf8(builder.toString());
+        String edited = builder.insert(3000, "새로 넣은 문장입니다.")
+                .delete(12000, 12100)
+                .append("마지막에 붙인 줄")
+                .toString();
+        byte[] target = utf8(edited);
+
+        // when
+        byte[] delta = BinaryDelta.encode(source, target);
+
+        // then
+        assertArrayEquals(target, BinaryDelta.apply(source, delta));
+        assertTrue(delta.length < 200, "delta " + delta.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("빈 본문, 같은 본문, 전혀 다른 본문도 그대로 되살림")
+    void edge_cases() {
+        Random random = new Random(42);
+        byte[] noise = new byte[5000];
+        random.nextBytes(noise);
+        byte[] text = utf8("짧은 글");
+        byte[] empty = new byte[0];
+
+        byte[][][] pairs = {
+                {empty, empty}, {empty, text}, {text, empty}, {text, text}, {noise, text}, {text, noise}, {noise, noise}
+        };
+        for (byte[][] pair : pairs) {
+            assertArrayEquals(pair[1], BinaryDelta.apply(pair[0], BinaryDelta.encode(pair[0], pair[1])));
+        }
+        assertTrue(BinaryDelta.encode(noise, noise).length < 10);
+    }
+
+    @Test
+    @DisplayName("잘린 delta 는 예외")
+    void truncated_delta() {
+        byte[] source = utf8("가나다라마바사아자차카타파하 가나다라마바사아자차카타파하");
+        byte[] delta = BinaryDelta.encode(source, utf8("처음 보는 내용 가나다라마바사아자차카타파하"));
+        byte[] truncated = new byte[delta.length - 3];
+        System.arraycopy(delta, 0, truncated, 0, truncated.length);
+
+        assertThrows(IllegalStateException.class, () -> BinaryDelta.apply(source, truncated));
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
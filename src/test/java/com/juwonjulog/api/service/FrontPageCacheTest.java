@@ -0,0 +1,151 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostCreate;
+import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.response.PostResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class FrontPageCacheTest {
+
+    @Autowired
+    private FrontPageCache frontPageCache;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("첫 페이지들은 스냅샷에서, 더 깊은 페이지와 필터 조회는 DB에서 읽음")
+    void serve_front_pages_from_snapshot() {
+        // given
+        postRepository.saveAll(IntStream.range(0, 30)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList()));
+        long rebuilds = frontPageCache.getStats().getRebuilds();
+
+        // expected
+        List<PostResponse> firstPage = frontPageCache.get(search(1, 5)).orElseThrow();
+        assertEquals("title_29", firstPage.get(0).getTitle());
+        assertEquals("title_15", frontPageCache.get(search(3, 5)).orElseThrow().get(4).getTitle());
+        assertTrue(frontPageCache.get(search(4, 5)).isEmpty());
+        assertTrue(frontPageCache.get(PostSearch.builder().page(1).size(5).category("개발").build()).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> firstPage.remove(0));
+
+        assertEquals("title_14", postService.getList(search(4, 5)).get(0).getTitle());
+        assertEquals(rebuilds, frontPageCache.getStats().getRebuilds());
+    }
+
+    @Test
+    @DisplayName("작성/수정/삭제가 커밋되면 새 스냅샷으로 바뀜")
+    void swap_snapshot_after_write_edit_delete() {
+        // given
+        postService.write(PostCreate.builder().title("첫 글").content("내용").build());
+        postService.write(PostCreate.builder().title("둘째 글").content("내용").build());
+        assertEquals(List.of("둘째 글", "첫 글"), titles(postService.getList(search(1, 5))));
+
+        Post first = postRepository.findAll().stream()
+                .filter(post -> post.getTitle().equals("첫 글"))
+                .findFirst()
+                .orElseThrow();
+
+        // when
+        postService.edit(first.getId(), PostEdit.builder().title("수정한 글").content("내용").build());
+
+        // then
+        assertEquals(List.of("둘째 글", "수정한 글"), titles(frontPageCache.get(search(1, 5)).orElseThrow()));
+
+        postService.delete(first.getId());
+        assertEquals(List.of("둘째 글"), titles(frontPageCache.get(search(1, 5)).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 여러 글이 저장되어도 스냅샷은 한 번만 다시 만듦")
+    void rebuild_once_per_transaction() {
+        // given
+        long rebuilds = frontPageCache.getStats().getRebuilds();
+
+        // when
+        postRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        // then
+        assertEquals(rebuilds + 1, frontPageCache.getStats().getRebuilds());
+        assertEquals(10, frontPageCache.getStats().getPosts());
+    }
+
+    @Test
+    @DisplayName("HTML 만 다시 렌더링된 글은 스냅샷에 있을 때만 다시 만듦")
+    void rebuild_on_rerender_only_when_cached() {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 20)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList()));
+        long rebuilds = frontPageCache.getStats().getRebuilds();
+
+        // when
+        rerender(posts.get(0).getId());
+        long afterUncached = frontPageCache.getStats().getRebuilds();
+        rerender(posts.get(posts.size() - 1).getId());
+
+        // then
+        assertEquals(rebuilds, afterUncached);
+        assertEquals(rebuilds + 1, frontPageCache.getStats().getRebuilds());
+        assertEquals("<p>content_19</p>\n", frontPageCache.get(search(1, 1)).orElseThrow().get(0).getContentHtml());
+    }
+
+    private void rerender(Long postId) {
+        transactionTemplate.executeWithoutResult(status ->
+                markdownRenderer.render(postRepository.findById(postId).orElseThrow()));
+    }
+
+    private static PostSearch search(int page, int size) {
+        return PostSearch.builder()
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    private static List<String> titles(List<PostResponse> posts) {
+        return posts.stream()
+                .map(PostResponse::getTitle)
+                .collect(Collectors.toList());
+    }
+}
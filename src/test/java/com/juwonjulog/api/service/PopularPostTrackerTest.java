@@ -0,0 +1,165 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.exception.InvalidRequest;
+import com.juwonjulog.api.response.PopularPostResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopularPostTrackerTest {
+
+    @Test
+    @DisplayName("최근 1시간 조회수 순으로 인기 게시글 출력")
+    void get_popular_posts_in_last_hour() {
+        // given
+        MutableClock clock = new MutableClock();
+        PopularPostTracker tracker = new PopularPostTracker(100, 1, clock);
+
+        record(tracker, 1L, 5);
+        record(tracker, 2L, 10);
+        record(tracker, 3L, 1);
+
+        // when
+        List<PopularPostResponse> popular = tracker.getPopular("1h", 2);
+
+        // then
+        assertEquals(2, popular.size());
+        assertEquals(2L, popular.get(0).getPostId());
+        assertEquals(10L, popular.get(0).getViews());
+        assertEquals(1L, popular.get(1).getPostId());
+        assertEquals(5L, popular.get(1).getViews());
+    }
+
+    @Test
+    @DisplayName("1시간이 지난 조회는 1시간 순위에서 빠지고 1일 순위에는 남음")
+    void old_views_fall_out_of_hour_window() {
+        // given
+        MutableClock clock = new MutableClock();
+        PopularPostTracker tracker = new PopularPostTracker(100, 1, clock);
+        record(tracker, 1L, 5);
+
+        // when
+        clock.advance(Duration.ofMinutes(61));
+        record(tracker, 2L, 1);
+
+        // then
+        List<PopularPostResponse> hour = tracker.getPopular("1h", 10);
+        assertEquals(1, hour.size());
+        assertEquals(2L, hour.get(0).getPostId());
+
+        List<PopularPostResponse> day = tracker.getPopular("1d", 10);
+        assertEquals(2, day.size());
+        assertEquals(1L, day.get(0).getPostId());
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 조회 기간이면 예외 출력")
+    void invalid_window() {
+        PopularPostTracker tracker = new PopularPostTracker(100, 1, new MutableClock());
+
+        assertThrows(InvalidRequest.class, () -> tracker.getPopular("1w", 10));
+    }
+
+    @Test
+    @DisplayName("여러 칸과 stripe 를 합친 순위도 views 는 실제 조회수 이상, views - maxError 는 실제 조회수 이하")
+    void merged_window_bounds() throws Exception {
+        // given
+        MutableClock clock = new MutableClock();
+        PopularPostTracker tracker = new PopularPostTracker(10, 4, clock);
+        Map<Long, Long> actual = new ConcurrentHashMap<>();
+
+        // when
+        for (int minute = 0; minute < 5; minute++) {
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long seed = minute * 10L + t;
+                Thread worker = new Thread(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 2_000; i++) {
+                        // 앞쪽 글에 조회가 몰리고, 칸마다 인기 글이 조금씩 바뀐다.
+                        long postId = random.nextInt(4) == 0 ? random.nextInt(100) : seed % 7 + random.nextInt(5);
+                        tracker.record(postId);
+                        actual.merge(postId, 1L, Long::sum);
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            clock.advance(Duration.ofMinutes(1));
+        }
+
+        // then
+        List<PopularPostResponse> popular = tracker.getPopular("1h", 100);
+        assertFalse(popular.isEmpty());
+        for (PopularPostResponse post : popular) {
+            long views = actual.getOrDefault(post.getPostId(), 0L);
+            assertTrue(post.getViews() >= views, "views of " + post.getPostId());
+            assertTrue(post.getViews() - post.getMaxError() <= views, "guaranteed views of " + post.getPostId());
+        }
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글은 순위에서 빠짐")
+    void deleted_post_removed_from_ranking() {
+        // given
+        MutableClock clock = new MutableClock();
+        PopularPostTracker tracker = new PopularPostTracker(100, 1, clock);
+        record(tracker, 1L, 5);
+        record(tracker, 2L, 3);
+        assertEquals(2, tracker.getPopular("1h", 10).size());
+
+        // when
+        tracker.remove(1L);
+
+        // then
+        List<PopularPostResponse> hour = tracker.getPopular("1h", 10);
+        assertEquals(1, hour.size());
+        assertEquals(2L, hour.get(0).getPostId());
+        assertEquals(1, tracker.getPopular("1d", 10).size());
+    }
+
+    private void record(PopularPostTracker tracker, Long postId, int views) {
+        for (int i = 0; i < views; i++) {
+            tracker.record(postId);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2022-06-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
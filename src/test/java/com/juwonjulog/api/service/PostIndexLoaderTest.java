@@ -0,0 +1,64 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.response.TitleSuggestResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PostIndexLoaderTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeEach
+    void clean() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("기동 시 다시 만들 때 이미 인덱스에 있는 글은 DB에서 읽은 내용으로 덮어쓰지 않음")
+    void skip_posts_already_indexed() {
+        // given
+        Post indexed = postRepository.save(Post.builder()
+                .title("읽은 시점의 제목")
+                .content("content")
+                .build());
+        Post missing = postRepository.save(Post.builder()
+                .title("인덱스에 없던 제목")
+                .content("content")
+                .build());
+
+        RelatedPostIndex relatedPostIndex = new RelatedPostIndex(16, 4, 0.2);
+        TitleSuggestIndex titleSuggestIndex = new TitleSuggestIndex(10);
+        // 배치를 읽기 전에 커밋된 수정 이벤트가 먼저 반영된 상황
+        relatedPostIndex.index(indexed.getId(), "최신 제목\ncontent");
+        titleSuggestIndex.index(indexed.getId(), "최신 제목");
+
+        PostIndexLoader loader = new PostIndexLoader(postRepository, relatedPostIndex, titleSuggestIndex);
+
+        // when
+        loader.load();
+
+        // then
+        assertTrue(titleSuggestIndex.suggest("읽은", 10).isEmpty());
+        assertEquals(List.of(indexed.getId()), ids(titleSuggestIndex.suggest("최신", 10)));
+        assertEquals(List.of(missing.getId()), ids(titleSuggestIndex.suggest("인덱스", 10)));
+        assertTrue(relatedPostIndex.contains(missing.getId()));
+    }
+
+    private static List<Long> ids(List<TitleSuggestResponse> suggestions) {
+        return suggestions.stream()
+                .map(TitleSuggestResponse::getId)
+                .collect(Collectors.toList());
+    }
+}
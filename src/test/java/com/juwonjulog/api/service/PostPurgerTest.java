@@ -0,0 +1,98 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.exception.PostNotFound;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.repository.SqlCaptor;
+import com.juwonjulog.api.request.PostSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"juwonjulog.purge.batch-size=5", "juwonjulog.purge.pause=0",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.juwonjulog.api.repository.SqlCaptor"})
+class PostPurgerTest {
+
+    @Autowired
+    private PostPurger postPurger;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        postPurger.purge(LocalDateTime.now().plusSeconds(1));
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("삭제한 글은 조회되지 않지만 row 는 정리할 때까지 남음")
+    void soft_delete_hides_post() {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList()));
+        Long deletedId = posts.get(1).getId();
+
+        // when
+        postService.delete(deletedId);
+
+        // then
+        assertThrows(PostNotFound.class, () -> postService.get(deletedId));
+        assertThrows(PostNotFound.class, () -> postService.delete(deletedId));
+        assertFalse(postService.getList(PostSearch.builder().build()).stream()
+                .anyMatch(post -> post.getId().equals(deletedId)));
+        assertEquals(2L, postRepository.count());
+        assertEquals(3L, countRows());
+    }
+
+    @Test
+    @DisplayName("삭제된 지 유예 시간이 지난 글만 batch 로 나눠서 지움")
+    void purge_deleted_posts() {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 30)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .build())
+                .collect(Collectors.toList()));
+        posts.subList(0, 22).forEach(post -> postService.delete(post.getId()));
+
+        // expected
+        assertEquals(0L, postPurger.purge(LocalDateTime.now().minusHours(1)));
+        assertEquals(30L, countRows());
+
+        SqlCaptor.clear();
+        assertEquals(22L, postPurger.purge(LocalDateTime.now().plusSeconds(1)));
+        assertEquals(8L, countRows());
+        assertEquals(8L, postRepository.count());
+
+        // 22개를 5개씩 지우면 batch 5번. 리비전과 첨부파일은 글 수가 아니라 batch 마다 쿼리 한 번씩이다.
+        assertEquals(5L, SqlCaptor.count("delete from post_revision"));
+        assertEquals(5L, SqlCaptor.count("select distinct attachment0_.sha256"));
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject("select count(*) from post", Long.class);
+    }
+}
@@ -2,17 +2,22 @@ package com.juwonjulog.api.service;
 
 import com.juwonjulog.api.domain.Post;
 import com.juwonjulog.api.exception.PostNotFound;
+import com.juwonjulog.api.repository.PostContentResource;
 import com.juwonjulog.api.repository.PostRepository;
 import com.juwonjulog.api.request.PostCreate;
 import com.juwonjulog.api.request.PostEdit;
 import com.juwonjulog.api.request.PostSearch;
 import com.juwonjulog.api.response.PostResponse;
+import com.juwonjulog.api.response.TitleSuggestResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -28,6 +33,18 @@ class PostServiceTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private TitleSuggestIndex titleSuggestIndex;
+
+    @Autowired
+    private RelatedPostIndex relatedPostIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void clean() {
         postRepository.deleteAll();
@@ -52,6 +69,26 @@ class PostServiceTest {
         assertEquals("글 내용...", post.getContent());
     }
 
+    @Test
+    @DisplayName("게시글 작성 시 Markdown 내용을 HTML로 렌더링해서 저장")
+    void render_markdown_when_write() {
+        // given
+        PostCreate postCreate = PostCreate.builder()
+                .title("글 제목")
+                .content("# 제목\n\n**굵게** <script>alert(1)</script>")
+                .build();
+
+        // when
+        postService.write(postCreate);
+
+        // then
+        Post post = postRepository.findAll().get(0);
+        assertEquals(MarkdownRenderer.VERSION, post.getRenderVersion());
+        assertTrue(post.getContentHtml().contains("<h1>제목</h1>"));
+        assertTrue(post.getContentHtml().contains("<strong>굵게</strong>"));
+        assertFalse(post.getContentHtml().contains("<script>"));
+    }
+
     @Test
     @DisplayName("DB에 저장된 게시글 단건 조회")
     void get_post_saved_in_db() {
@@ -71,6 +108,30 @@ class PostServiceTest {
         assertEquals("글 내용...", response.getContent());
     }
 
+    @Test
+    @DisplayName("게시글 단건 조회 시 조회수 증가 후 flush 하면 DB에 반영")
+    void increase_views_when_get() {
+        // given
+        Post savedPost = Post.builder()
+                .title("글 제목")
+                .content("글 내용...")
+                .build();
+        postRepository.save(savedPost);
+
+        // when
+        postService.get(savedPost.getId());
+        postService.get(savedPost.getId());
+        PostResponse response = postService.get(savedPost.getId());
+        postViewCounter.flush();
+
+        // then
+        assertEquals(3L, response.getViews());
+        assertEquals(0L, postViewCounter.getPending(savedPost.getId()));
+        Post post = postRepository.findById(savedPost.getId())
+                .orElseThrow(() -> new RuntimeException("존재하지 않는 글입니다. id=" + savedPost.getId()));
+        assertEquals(3L, post.getViews());
+    }
+
     @Test
     @DisplayName("DB에 존재하지 않는 게시글 단건 조회 시 예외 출력")
     void get_nonexistent_post() {
@@ -157,6 +218,99 @@ class PostServiceTest {
         assertEquals("edited_content", editedPost.getContent());
     }
 
+    @Test
+    @DisplayName("게시글 내용 수정 시 HTML 다시 렌더링")
+    void rerender_markdown_when_edit_content() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("title")
+                .content("*content*")
+                .build());
+        Post post = postRepository.findAll().get(0);
+        String contentHash = post.getContentHash();
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("title")
+                .content("**edited_content**")
+                .build();
+
+        // when
+        postService.edit(post.getId(), postEdit);
+
+        // then
+        Post editedPost = postRepository.findById(post.getId())
+                .orElseThrow(() -> new RuntimeException("존재하지 않는 글입니다. id=" + post.getId()));
+        assertNotEquals(contentHash, editedPost.getContentHash());
+        assertEquals("<p><strong>edited_content</strong></p>\n", editedPost.getContentHtml());
+    }
+
+    @Test
+    @DisplayName("게시글 수정은 커밋된 뒤에만 자동완성과 관련 글 인덱스에 반영")
+    void update_indexes_only_after_commit() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("커밋 전 제목")
+                .content("content")
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            postService.edit(post.getId(), PostEdit.builder()
+                    .title("롤백될 제목")
+                    .content("content")
+                    .build());
+            status.setRollbackOnly();
+        });
+        List<TitleSuggestResponse> rolledBack = titleSuggestIndex.suggest("롤백", 10);
+        List<TitleSuggestResponse> beforeCommit = titleSuggestIndex.suggest("커밋 전", 10);
+
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("커밋된 제목")
+                .content("content")
+                .build());
+
+        // then
+        assertTrue(rolledBack.isEmpty());
+        assertEquals(1, beforeCommit.size());
+        assertEquals(List.of("커밋된 제목"), titleSuggestIndex.suggest("커밋", 10).stream()
+                .map(TitleSuggestResponse::getTitle)
+                .collect(Collectors.toList()));
+        assertTrue(relatedPostIndex.contains(post.getId()));
+    }
+
+    @Test
+    @DisplayName("본문을 내려주는 중에 글이 수정되어도 길이와 본문은 처음 읽은 버전 그대로")
+    void content_length_matches_body_when_edited_while_streaming() throws Exception {
+        // given
+        String content = "가나다라마바사 abc\n".repeat(20_000);
+        postService.write(PostCreate.builder()
+                .title("title")
+                .content(content)
+                .build());
+        Post post = postRepository.findAll().get(0);
+
+        // when
+        byte[] body;
+        long contentLength;
+        try (PostContentResource resource = postService.getContent(post.getId())) {
+            postService.edit(post.getId(), PostEdit.builder()
+                    .title("title")
+                    .content("short")
+                    .build());
+
+            contentLength = resource.contentLength();
+            try (InputStream in = resource.getInputStream()) {
+                body = in.readAllBytes();
+            }
+        }
+
+        // then
+        assertEquals(content.getBytes(StandardCharsets.UTF_8).length, contentLength);
+        assertEquals(contentLength, body.length);
+        assertEquals(content, new String(body, StandardCharsets.UTF_8));
+    }
+
     @Test
     @DisplayName("DB에 존재하지 않는 게시글 수정 시 예외 출력")
     void edit_nonexistent_post() {
@@ -0,0 +1,113 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.shard.PostShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostViewCounterTest {
+
+    @Test
+    @DisplayName("조회와 flush 가 동시에 일어나도 조회수가 빠지거나 두 번 더해지지 않음")
+    void no_lost_views_while_flushing_concurrently() throws Exception {
+        // given
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        PostViewCounter counter = new PostViewCounter(jdbcTemplate, PostShards.single(), true);
+
+        int threads = 8;
+        int viewsPerThread = 200_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // when
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    counter.increment((long) (i % 3));
+                }
+                done.countDown();
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        Thread flusher = new Thread(() -> {
+            while (running.get()) {
+                counter.flush();
+            }
+        });
+        flusher.start();
+
+        done.await();
+        running.set(false);
+        flusher.join();
+        counter.flushOnShutdown();
+
+        // then
+        long total = jdbcTemplate.views.values().stream().mapToLong(Long::longValue).sum();
+        assertEquals((long) threads * viewsPerThread, total);
+        assertEquals(0L, counter.getPending(0L));
+    }
+
+    @Test
+    @DisplayName("DB 반영에 실패한 조회수는 다음 flush 에 다시 반영")
+    void retry_views_when_flush_fails() {
+        // given
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        PostViewCounter counter = new PostViewCounter(jdbcTemplate, PostShards.single(), true);
+        counter.increment(1L);
+        counter.increment(1L);
+
+        // when
+        jdbcTemplate.failing = true;
+        counter.flush();
+        jdbcTemplate.failing = false;
+        counter.flush();
+
+        // then
+        assertEquals(2L, jdbcTemplate.views.get(1L));
+        assertEquals(0L, counter.getPending(1L));
+    }
+
+    @Test
+    @DisplayName("조회수를 끄면 세지 않음")
+    void ignore_views_when_disabled() {
+        // given
+        RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+        PostViewCounter counter = new PostViewCounter(jdbcTemplate, PostShards.single(), false);
+
+        // when
+        counter.increment(1L);
+        counter.flush();
+
+        // then
+        assertEquals(0L, counter.getPending(1L));
+        assertTrue(jdbcTemplate.views.isEmpty());
+    }
+
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final Map<Long, Long> views = new ConcurrentHashMap<>();
+        private volatile boolean failing;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (failing) {
+                throw new IllegalStateException("db is down");
+            }
+            for (Object[] args : batchArgs) {
+                views.merge((Long) args[1], (Long) args[0], Long::sum);
+            }
+            return new int[batchArgs.size()];
+        }
+    }
+}
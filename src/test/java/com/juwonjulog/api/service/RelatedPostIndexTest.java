@@ -0,0 +1,146 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.response.RelatedPostResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelatedPostIndexTest {
+
+    private static final int BASE_DOCUMENTS = 200;
+    private static final int VARIANTS_PER_DOCUMENT = 3;
+    private static final int WORDS_PER_DOCUMENT = 150;
+
+    @Test
+    @DisplayName("조사만 다른 한국어 문장은 유사한 글로 찾음")
+    void find_korean_sentence_with_different_particles() {
+        // given
+        // Jaccard 0.5 정도의 짧은 글도 놓치지 않도록 band 를 늘리고 row 를 줄여 recall 쪽으로 조정
+        RelatedPostIndex index = new RelatedPostIndex(32, 2, 0.2);
+        index.index(1L, "스프링 부트로 블로그를 만들고 게시글 목록을 페이징해서 조회한다");
+        index.index(2L, "스프링 부트로 블로그에 게시글 목록은 페이징하여 조회했다");
+        index.index(3L, "오늘 점심은 김치찌개였고 저녁은 된장찌개를 먹었다");
+
+        // when
+        List<RelatedPostResponse> related = index.related(1L, 5).orElseThrow();
+
+        // then
+        assertEquals(1, related.size());
+        assertEquals(2L, related.get(0).getPostId());
+    }
+
+    @Test
+    @DisplayName("수정/삭제된 글은 인덱스에 반영")
+    void reindex_and_remove() {
+        // given
+        RelatedPostIndex index = new RelatedPostIndex(16, 4, 0.2);
+        index.index(1L, "자바 스프링 JPA Querydsl 게시판 만들기");
+        index.index(2L, "자바 스프링 JPA Querydsl 게시판 만들기 2편");
+
+        // when
+        index.index(2L, "제주도 여행 사진 모음");
+        index.remove(3L);
+
+        // then
+        assertTrue(index.related(1L, 5).orElseThrow().isEmpty());
+
+        index.remove(1L);
+        assertTrue(index.related(1L, 5).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("추정 유사도는 실제 Jaccard 유사도와 가깝고, 유사도 0.6 이상 쌍은 대부분 후보로 찾음")
+    void accuracy_against_exact_jaccard() {
+        // given
+        Random random = new Random(2022);
+        RelatedPostIndex index = new RelatedPostIndex(16, 4, 0.0);
+        List<String> documents = new ArrayList<>();
+
+        for (int base = 0; base < BASE_DOCUMENTS; base++) {
+            List<String> words = randomWords(random, WORDS_PER_DOCUMENT);
+            documents.add(String.join(" ", words));
+            for (int variant = 0; variant < VARIANTS_PER_DOCUMENT; variant++) {
+                documents.add(String.join(" ", mutate(random, words, 0.05 + 0.15 * variant)));
+            }
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            index.index((long) i, documents.get(i));
+        }
+
+        List<Set<Integer>> shingles = documents.stream()
+                .map(MinHash::shingles)
+                .collect(Collectors.toList());
+
+        // when
+        int similarPairs = 0;
+        int found = 0;
+        double totalError = 0;
+        int compared = 0;
+
+        for (int base = 0; base < documents.size(); base += VARIANTS_PER_DOCUMENT + 1) {
+            List<RelatedPostResponse> related = index.related((long) base, 100).orElseThrow();
+
+            for (int other = base + 1; other <= base + VARIANTS_PER_DOCUMENT; other++) {
+                double exact = MinHash.jaccard(shingles.get(base), shingles.get(other));
+                long otherId = other;
+                RelatedPostResponse match = related.stream()
+                        .filter(response -> response.getPostId() == otherId)
+                        .findFirst()
+                        .orElse(null);
+
+                if (exact >= 0.6) {
+                    similarPairs++;
+                    if (match != null) {
+                        found++;
+                    }
+                }
+                if (match != null) {
+                    totalError += Math.abs(match.getSimilarity() - exact);
+                    compared++;
+                }
+            }
+        }
+
+        // then
+        double recall = (double) found / similarPairs;
+        double meanError = totalError / compared;
+        assertTrue(similarPairs > 0);
+        assertTrue(recall >= 0.95, "recall=" + recall);
+        assertTrue(meanError <= 0.08, "meanError=" + meanError);
+    }
+
+    private List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(randomWord(random));
+        }
+        return words;
+    }
+
+    private List<String> mutate(Random random, List<String> words, double ratio) {
+        List<String> mutated = new ArrayList<>(words);
+        for (int i = 0; i < mutated.size(); i++) {
+            if (random.nextDouble() < ratio) {
+                mutated.set(i, randomWord(random));
+            }
+        }
+        return mutated;
+    }
+
+    private String randomWord(Random random) {
+        int length = 2 + random.nextInt(3);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('가' + random.nextInt(11172)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.juwonjulog.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    private static final int CAPACITY = 100;
+    private static final int ITEMS = 100_000;
+    private static final int STREAM_LENGTH = 1_000_000;
+
+    @Test
+    @DisplayName("추정치는 실제 빈도 이상이고, 추정치 - error 는 실제 빈도 이하")
+    void estimate_bounds_true_frequency() {
+        // given
+        SpaceSaving spaceSaving = new SpaceSaving(CAPACITY);
+        Map<Long, Long> exact = feedZipf(spaceSaving, new Random(42));
+
+        // expected
+        for (SpaceSaving.Counter counter : spaceSaving.getCounters()) {
+            long actual = exact.getOrDefault(counter.getItem(), 0L);
+            assertTrue(counter.getCount() >= actual);
+            assertTrue(counter.getCount() - counter.getError() <= actual);
+            assertTrue(counter.getError() <= STREAM_LENGTH / CAPACITY);
+        }
+    }
+
+    @Test
+    @DisplayName("전체 빈도 / capacity 보다 많이 나온 항목은 모두 포함")
+    void keeps_every_heavy_hitter() {
+        // given
+        SpaceSaving spaceSaving = new SpaceSaving(CAPACITY);
+        Map<Long, Long> exact = feedZipf(spaceSaving, new Random(7));
+
+        // when
+        Set<Long> tracked = spaceSaving.getCounters().stream()
+                .map(SpaceSaving.Counter::getItem)
+                .collect(Collectors.toSet());
+
+        // then
+        List<Long> heavyHitters = exact.entrySet().stream()
+                .filter(entry -> entry.getValue() > STREAM_LENGTH / CAPACITY)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        assertFalse(heavyHitters.isEmpty());
+        assertTrue(tracked.containsAll(heavyHitters));
+        assertEquals(STREAM_LENGTH, spaceSaving.getTotal());
+    }
+
+    @Test
+    @DisplayName("capacity 이상의 카운터를 만들지 않음")
+    void memory_is_bounded_by_capacity() {
+        // given
+        SpaceSaving spaceSaving = new SpaceSaving(CAPACITY);
+
+        // when
+        for (long item = 0; item < ITEMS; item++) {
+            spaceSaving.offer(item, 1L);
+        }
+
+        // then
+        assertEquals(CAPACITY, spaceSaving.getCounters().size());
+    }
+
+    private Map<Long, Long> feedZipf(SpaceSaving spaceSaving, Random random) {
+        double[] cumulative = new double[ITEMS];
+        double sum = 0;
+        for (int i = 0; i < ITEMS; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+
+        Map<Long, Long> exact = new HashMap<>();
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            double target = random.nextDouble() * sum;
+            int index = Arrays.binarySearch(cumulative, target);
+            long item = index >= 0 ? index : -index - 1;
+
+            spaceSaving.offer(item, 1L);
+            exact.merge(item, 1L, Long::sum);
+        }
+        return exact;
+    }
+}
@@ -0,0 +1,88 @@
+package com.juwonjulog.api.service;
+
+import com.juwonjulog.api.response.TitleSuggestResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggestIndexTest {
+
+    @Test
+    @DisplayName("한글 음절 prefix 와 입력 중인 자모 prefix 로 제목을 찾음")
+    void suggest_by_syllable_and_jamo_prefix() {
+        // given
+        TitleSuggestIndex index = new TitleSuggestIndex(10);
+        index.index(1L, "스프링 부트 입문");
+        index.index(2L, "닭갈비 맛집");
+        index.index(3L, "과일 고르는 법");
+
+        // expected
+        assertEquals(List.of(1L), ids(index.suggest("스프", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("스ㅍ", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("달", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("닭ㄱ", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("고", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("ㄱ", 10)));
+        assertEquals("스프링 부트 입문", index.suggest("ㅅ", 10).get(0).getTitle());
+        assertTrue(index.suggest("자바", 10).isEmpty());
+        assertTrue(index.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("제목 중간 단어로도 찾고, 대소문자는 구분하지 않음")
+    void suggest_by_word_in_middle_of_title() {
+        // given
+        TitleSuggestIndex index = new TitleSuggestIndex(10);
+        index.index(1L, "스프링 부트 입문");
+        index.index(2L, "Java Stream 정리");
+
+        // expected
+        assertEquals(List.of(1L), ids(index.suggest("부트 입", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("stream", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("JAVA s", 10)));
+    }
+
+    @Test
+    @DisplayName("최신 글 순으로 최대 topK 개만 출력")
+    void suggest_most_recent_top_k() {
+        // given
+        TitleSuggestIndex index = new TitleSuggestIndex(5);
+        LongStream.rangeClosed(1, 30).forEach(id -> index.index(id, "자바 " + id));
+
+        // expected
+        assertEquals(List.of(30L, 29L, 28L, 27L, 26L), ids(index.suggest("자바", 10)));
+        assertEquals(List.of(30L, 29L), ids(index.suggest("자바", 2)));
+    }
+
+    @Test
+    @DisplayName("수정/삭제된 글은 바로 반영되고, 밀려났던 글이 다시 채워짐")
+    void reflect_edit_and_delete() {
+        // given
+        TitleSuggestIndex index = new TitleSuggestIndex(3);
+        LongStream.rangeClosed(1, 5).forEach(id -> index.index(id, "자바 " + id));
+
+        // when
+        index.remove(5L);
+        index.index(4L, "코틀린 4");
+
+        // then
+        assertEquals(List.of(3L, 2L, 1L), ids(index.suggest("자바", 10)));
+        assertEquals(List.of(4L), ids(index.suggest("코", 10)));
+        assertEquals(List.of(4L), ids(index.suggest("4", 10)));
+
+        index.remove(4L);
+        assertTrue(index.suggest("코", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    private static List<Long> ids(List<TitleSuggestResponse> suggestions) {
+        return suggestions.stream()
+                .map(TitleSuggestResponse::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,234 @@
+package com.juwonjulog.api.shard;
+
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.exception.PostNotFound;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.request.PostCreate;
+import com.juwonjulog.api.request.PostEdit;
+import com.juwonjulog.api.request.PostSearch;
+import com.juwonjulog.api.response.PostMultiGetResponse;
+import com.juwonjulog.api.response.PostResponse;
+import com.juwonjulog.api.service.PostPurger;
+import com.juwonjulog.api.service.PostRevisionService;
+import com.juwonjulog.api.service.PostService;
+import com.juwonjulog.api.service.PostViewCounter;
+import com.juwonjulog.api.snapshot.PostSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "juwonjulog.sharding.enabled=true",
+        "juwonjulog.sharding.urls[0]=jdbc:h2:mem:sharded-test-0;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "juwonjulog.sharding.urls[1]=jdbc:h2:mem:sharded-test-1;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "juwonjulog.sharding.urls[2]=jdbc:h2:mem:sharded-test-2;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"
+})
+class ShardedPostTest {
+
+    private static final int SHARDS = 3;
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostRevisionService postRevisionService;
+
+    @Autowired
+    private PostViewCounter postViewCounter;
+
+    @Autowired
+    private PostPurger postPurger;
+
+    @Autowired
+    private PostSnapshotService postSnapshotService;
+
+    @Autowired
+    private PostShards postShards;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            postShards.run(shard, () -> {
+                jdbcTemplate.update("delete from post_revision");
+                jdbcTemplate.update("delete from attachment");
+                jdbcTemplate.update("delete from post");
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("새 글은 shard 를 돌아가며 들어가고, 조회/수정/삭제는 id 가 가리키는 shard 에서 처리")
+    void route_by_id_to_owning_shard() {
+        // given
+        List<Long> ids = write(6);
+
+        // expected
+        assertEquals(SHARDS, postShards.count());
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(2L, countPosts(shard));
+        }
+        for (Long id : ids) {
+            assertEquals(1L, postShards.onPost(id, () -> jdbcTemplate.queryForObject(
+                    "select count(*) from post where id = ?", Long.class, id)));
+            assertEquals("title_" + ids.indexOf(id), postService.get(id).getTitle());
+        }
+
+        Long target = ids.get(4);
+        postService.edit(target, PostEdit.builder()
+                .title("고친 제목")
+                .content("고친 내용")
+                .build());
+        assertEquals("고친 제목", postService.get(target).getTitle());
+        assertEquals(2, postRevisionService.getList(target).size());
+        assertEquals("content_4", postRevisionService.get(target, 1).getContent());
+
+        postService.delete(target);
+        assertThrows(PostNotFound.class, () -> postService.get(target));
+        assertThrows(PostNotFound.class, () -> postService.delete(target));
+    }
+
+    @Test
+    @DisplayName("목록은 모든 shard 에서 읽어 id 역순으로 합친 페이지가 단일 DB 와 같음")
+    void merge_pages_across_shards() {
+        // given
+        List<Long> ids = write(25);
+        List<Long> newestFirst = new ArrayList<>(ids);
+        newestFirst.sort(Comparator.reverseOrder());
+
+        // expected
+        assertEquals(ids, newestFirst.stream().sorted().collect(Collectors.toList()));
+        for (int page = 1; page <= 3; page++) {
+            List<Long> expected = newestFirst.subList((page - 1) * 10, Math.min(page * 10, newestFirst.size()));
+            assertEquals(expected, idsOf(postRepository.getList(PostSearch.builder()
+                    .page(page)
+                    .size(10)
+                    .build())));
+        }
+
+        List<Long> evenNewestFirst = newestFirst.stream()
+                .filter(id -> ids.indexOf(id) % 2 == 0)
+                .collect(Collectors.toList());
+        assertEquals(evenNewestFirst.subList(5, 10), idsOf(postRepository.getList(PostSearch.builder()
+                .page(2)
+                .size(5)
+                .category("even")
+                .build())));
+
+        List<Long> loaded = new ArrayList<>();
+        long lastId = 0L;
+        while (true) {
+            List<Post> batch = postRepository.getAllAfter(lastId, 7);
+            if (batch.isEmpty()) {
+                break;
+            }
+            loaded.addAll(idsOf(batch));
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        assertEquals(ids, loaded);
+
+        PostMultiGetResponse found = postService.getAll(List.of(ids.get(0), ids.get(1), ids.get(2), 1L));
+        assertEquals(List.of(ids.get(0), ids.get(1), ids.get(2)), found.getPosts().stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(1L), found.getMissingIds());
+    }
+
+    @Test
+    @DisplayName("조회수와 삭제된 글 정리는 글이 있는 shard 마다 반영")
+    void flush_views_and_purge_per_shard() {
+        // given
+        List<Long> ids = write(3);
+        ids.forEach(postService::get);
+        postService.get(ids.get(2));
+
+        // when
+        postViewCounter.flush();
+        postService.delete(ids.get(0));
+        postService.delete(ids.get(1));
+        long purged = postPurger.purge(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertEquals(2L, purged);
+        assertEquals(2L, postShards.onPost(ids.get(2), () -> jdbcTemplate.queryForObject(
+                "select views from post where id = ?", Long.class, ids.get(2))));
+        assertEquals(0L, countPosts(postShards.shardOf(ids.get(0))));
+        assertEquals(0L, countPosts(postShards.shardOf(ids.get(1))));
+        assertEquals(1L, countPosts(postShards.shardOf(ids.get(2))));
+    }
+
+    @Test
+    @DisplayName("스냅샷은 모든 shard 를 담고, 복원하면 글과 리비전이 원래 shard 로 돌아감")
+    void snapshot_and_restore_across_shards() throws Exception {
+        // given
+        List<Long> ids = write(9);
+        postService.edit(ids.get(3), PostEdit.builder()
+                .title("고친 제목")
+                .content("고친 내용")
+                .build());
+        Path file = dir.resolve("posts.snap");
+        assertEquals(9L, postSnapshotService.snapshot(file));
+        clean();
+
+        // when
+        long restored = postSnapshotService.restore(file);
+
+        // then
+        assertEquals(9L, restored);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(3L, countPosts(shard));
+        }
+        assertEquals("고친 제목", postService.get(ids.get(3)).getTitle());
+        assertEquals(2, postRevisionService.getList(ids.get(3)).size());
+        assertEquals(1, postRevisionService.getList(ids.get(8)).size());
+    }
+
+    /**
+     * 글을 차례로 쓰고 쓴 순서대로 id 를 돌려준다. 짝수 번째 글은 category 가 even 이다.
+     */
+    private List<Long> write(int count) {
+        for (int i = 0; i < count; i++) {
+            postService.write(PostCreate.builder()
+                    .title("title_" + i)
+                    .content("content_" + i)
+                    .category(i % 2 == 0 ? "even" : "odd")
+                    .build());
+        }
+
+        List<Post> posts = postRepository.getAllAfter(0L, count + 1);
+        assertEquals(count, posts.size());
+        posts.forEach(post -> assertEquals("title_" + posts.indexOf(post), post.getTitle()));
+        return idsOf(posts);
+    }
+
+    private long countPosts(int shard) {
+        return postShards.on(shard, () -> jdbcTemplate.queryForObject("select count(*) from post", Long.class));
+    }
+
+    private static List<Long> idsOf(List<Post> posts) {
+        return posts.stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,203 @@
+package com.juwonjulog.api.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("쓴 레코드를 순서대로 그대로 읽음")
+    void write_and_read() throws Exception {
+        // given
+        Path file = dir.resolve("posts.snap");
+        LocalDateTime createdAt = LocalDateTime.of(2022, 5, 1, 12, 30, 15, 123_456_789);
+
+        try (PostSnapshotFile.Writer writer = PostSnapshotFile.writer(file)) {
+            writer.write(PostSnapshotRecord.builder()
+                    .id(1L)
+                    .title("제목 😀")
+                    .content("# 내용")
+                    .contentBytes(8L)
+                    .contentHtml("<h1>내용</h1>\n")
+                    .contentHash("abc")
+                    .renderVersion(1)
+                    .category("개발")
+                    .createdAt(createdAt)
+                    .views(42L)
+                    .build());
+            writer.write(PostSnapshotRecord.builder()
+                    .id(3L)
+                    .title("")
+                    .createdAt(createdAt)
+                    .build());
+            writer.commit();
+        }
+
+        // when
+        List<PostSnapshotRecord> records = new ArrayList<>();
+        long count = PostSnapshotFile.read(file, records::add);
+
+        // then
+        assertEquals(2L, count);
+        PostSnapshotRecord first = records.get(0);
+        assertEquals(1L, first.getId());
+        assertEquals("제목 😀", first.getTitle());
+        assertEquals("# 내용", first.getContent());
+        assertEquals(8L, first.getContentBytes());
+        assertEquals("<h1>내용</h1>\n", first.getContentHtml());
+        assertEquals("abc", first.getContentHash());
+        assertEquals(1, first.getRenderVersion());
+        assertEquals("개발", first.getCategory());
+        assertEquals(createdAt, first.getCreatedAt());
+        assertEquals(42L, first.getViews());
+
+        PostSnapshotRecord second = records.get(1);
+        assertEquals(3L, second.getId());
+        assertEquals("", second.getTitle());
+        assertNull(second.getContent());
+        assertNull(second.getRenderVersion());
+    }
+
+    @Test
+    @DisplayName("게시글, 첨부파일, 리비전 레코드를 섞어 써도 종류별로 그대로 읽음")
+    void write_and_read_mixed_records() throws Exception {
+        // given
+        Path file = dir.resolve("posts.snap");
+        LocalDateTime createdAt = LocalDateTime.of(2022, 5, 1, 12, 30, 15);
+
+        try (PostSnapshotFile.Writer writer = PostSnapshotFile.writer(file)) {
+            writer.write(PostSnapshotRecord.builder()
+                    .id(1L)
+                    .title("제목")
+                    .createdAt(createdAt)
+                    .build());
+            writer.write(AttachmentSnapshotRecord.builder()
+                    .id(2L)
+                    .postId(1L)
+                    .filename("사진.png")
+                    .size(10L)
+                    .sha256("abc")
+                    .createdAt(createdAt)
+                    .build());
+            writer.write(RevisionSnapshotRecord.builder()
+                    .id(3L)
+                    .postId(1L)
+                    .rev(1)
+                    .keyframe(true)
+                    .data(new byte[]{1, 2, 3})
+                    .contentBytes(3L)
+                    .createdAt(createdAt)
+                    .build());
+            writer.commit();
+        }
+
+        // when
+        List<PostSnapshotRecord> posts = new ArrayList<>();
+        List<AttachmentSnapshotRecord> attachments = new ArrayList<>();
+        List<RevisionSnapshotRecord> revisions = new ArrayList<>();
+        long count = PostSnapshotFile.read(file, new PostSnapshotFile.Handler() {
+            @Override
+            public void post(PostSnapshotRecord record) {
+                posts.add(record);
+            }
+
+            @Override
+            public void attachment(AttachmentSnapshotRecord record) {
+                attachments.add(record);
+            }
+
+            @Override
+            public void revision(RevisionSnapshotRecord record) {
+                revisions.add(record);
+            }
+        });
+
+        // then
+        assertEquals(3L, count);
+        assertEquals(1L, posts.get(0).getId());
+
+        AttachmentSnapshotRecord attachment = attachments.get(0);
+        assertEquals(2L, attachment.getId());
+        assertEquals(1L, attachment.getPostId());
+        assertEquals("사진.png", attachment.getFilename());
+        assertNull(attachment.getContentType());
+        assertEquals(10L, attachment.getSize());
+        assertEquals(createdAt, attachment.getCreatedAt());
+
+        RevisionSnapshotRecord revision = revisions.get(0);
+        assertEquals(3L, revision.getId());
+        assertEquals(1, revision.getRev());
+        assertTrue(revision.isKeyframe());
+        assertArrayEquals(new byte[]{1, 2, 3}, revision.getData());
+        assertNull(revision.getTitle());
+    }
+
+    @Test
+    @DisplayName("내용이 바뀌거나 잘린 스냅샷은 읽지 않음")
+    void reject_corrupted_and_truncated() throws Exception {
+        // given
+        Path file = dir.resolve("posts.snap");
+        try (PostSnapshotFile.Writer writer = PostSnapshotFile.writer(file)) {
+            for (long id = 1; id <= 10; id++) {
+                writer.write(PostSnapshotRecord.builder()
+                        .id(id)
+                        .title("title_" + id)
+                        .content("content_" + id)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+            writer.commit();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        // expected
+        byte[] corrupted = bytes.clone();
+        corrupted[bytes.length / 2] ^= 0x01;
+        Files.write(file, corrupted);
+        assertThrows(SnapshotCorrupted.class, () -> PostSnapshotFile.read(file, record -> {
+        }));
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(SnapshotCorrupted.class, () -> PostSnapshotFile.read(file, record -> {
+        }));
+    }
+
+    @Test
+    @DisplayName("commit 하지 않은 스냅샷은 기존 파일을 바꾸지 않음")
+    void keep_previous_snapshot_without_commit() throws Exception {
+        // given
+        Path file = dir.resolve("posts.snap");
+        try (PostSnapshotFile.Writer writer = PostSnapshotFile.writer(file)) {
+            writer.commit();
+        }
+
+        // when
+        try (PostSnapshotFile.Writer writer = PostSnapshotFile.writer(file)) {
+            writer.write(PostSnapshotRecord.builder()
+                    .id(1L)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+
+        // then
+        assertEquals(0L, PostSnapshotFile.read(file, record -> {
+        }));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1L, files.count());
+        }
+    }
+}
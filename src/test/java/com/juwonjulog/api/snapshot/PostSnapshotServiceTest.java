@@ -0,0 +1,143 @@
+package com.juwonjulog.api.snapshot;
+
+import com.juwonjulog.api.domain.Attachment;
+import com.juwonjulog.api.domain.Post;
+import com.juwonjulog.api.domain.PostRevision;
+import com.juwonjulog.api.repository.AttachmentRepository;
+import com.juwonjulog.api.repository.PostRepository;
+import com.juwonjulog.api.repository.PostRevisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class PostSnapshotServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private PostSnapshotService postSnapshotService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private PostRevisionRepository postRevisionRepository;
+
+    @BeforeEach
+    void clean() {
+        attachmentRepository.deleteAll();
+        postRevisionRepository.deleteAll();
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("스냅샷을 남기고 빈 DB에 복원하면 같은 id 로 글이 돌아오고, 새 글은 그 다음 id 를 받음")
+    void snapshot_and_restore() throws Exception {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 30)
+                .mapToObj(i -> Post.builder()
+                        .title("title_" + i)
+                        .content("content_" + i)
+                        .category("개발")
+                        .build())
+                .collect(Collectors.toList()));
+        Path file = dir.resolve("posts.snap");
+        assertEquals(30L, postSnapshotService.snapshot(file));
+        postRepository.deleteAll();
+
+        // when
+        long restored = postSnapshotService.restore(file);
+
+        // then
+        assertEquals(30L, restored);
+        assertEquals(30L, postRepository.count());
+        Post last = posts.get(posts.size() - 1);
+        Post restoredLast = postRepository.findById(last.getId()).orElseThrow();
+        assertEquals(last.getTitle(), restoredLast.getTitle());
+        assertEquals(last.getContent(), restoredLast.getContent());
+        assertEquals(last.getCategory(), restoredLast.getCategory());
+        assertEquals(last.getContentBytes(), restoredLast.getContentBytes());
+
+        Post created = postRepository.save(Post.builder()
+                .title("새 글")
+                .content("내용")
+                .build());
+        assertTrue(created.getId() > last.getId());
+    }
+
+    @Test
+    @DisplayName("첨부파일과 리비전도 같은 id 로 복원하고, 복원되지 않은 글에 딸린 행은 건너뜀")
+    void restore_attachments_and_revisions() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("title")
+                .content("content")
+                .build());
+        Attachment attachment = attachmentRepository.save(Attachment.builder()
+                .post(post)
+                .filename("a.png")
+                .contentType("image/png")
+                .size(3L)
+                .sha256("a".repeat(64))
+                .build());
+        PostRevision revision = postRevisionRepository.save(PostRevision.builder()
+                .postId(post.getId())
+                .rev(1)
+                .title("title")
+                .keyframe(true)
+                .data(new byte[]{1, 2, 3})
+                .contentBytes(3L)
+                .build());
+        postRevisionRepository.save(PostRevision.builder()
+                .postId(post.getId() + 1000)
+                .rev(1)
+                .title("없는 글")
+                .keyframe(true)
+                .data(new byte[]{4})
+                .contentBytes(1L)
+                .build());
+        Path file = dir.resolve("posts.snap");
+        postSnapshotService.snapshot(file);
+        clean();
+
+        // when
+        postSnapshotService.restore(file);
+
+        // then
+        assertEquals(1L, attachmentRepository.count());
+        Attachment restoredAttachment = attachmentRepository.findByIdAndPostId(attachment.getId(), post.getId())
+                .orElseThrow();
+        assertEquals("a.png", restoredAttachment.getFilename());
+        assertEquals("image/png", restoredAttachment.getContentType());
+        assertEquals(attachment.getSha256(), restoredAttachment.getSha256());
+
+        assertEquals(1L, postRevisionRepository.count());
+        PostRevision restoredRevision = postRevisionRepository.findById(revision.getId()).orElseThrow();
+        assertEquals(post.getId(), restoredRevision.getPostId());
+        assertArrayEquals(new byte[]{1, 2, 3}, restoredRevision.getData());
+        assertEquals(3, restoredRevision.getDataSize());
+        assertTrue(restoredRevision.isKeyframe());
+
+        Attachment created = attachmentRepository.save(Attachment.builder()
+                .post(postRepository.findById(post.getId()).orElseThrow())
+                .filename("b.png")
+                .sha256("b".repeat(64))
+                .build());
+        assertTrue(created.getId() > attachment.getId());
+    }
+}